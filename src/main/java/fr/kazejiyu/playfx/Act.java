@@ -35,8 +35,31 @@ public interface Act {
 	 * @param play
 	 * 			The play containing the act. 
 	 * @param scene
-	 * 			The scene associated with the act.
+	 * 			The scene associated with the act. In {@link Play#setSingleScene(boolean) single scene mode},
+	 * 			the scene is shared by all the acts.
 	 */
 	abstract void prepare(Play play, Scene scene);
 	
+	/**
+	 * Called each time the act is put on stage. <br>
+	 * <br>
+	 * Does nothing by default.
+	 * 
+	 * @see Play#setScene(String)
+	 */
+	default void onShow() {
+		// does nothing by default
+	}
+	
+	/**
+	 * Called each time the act leaves the stage, because another act is put on stage. <br>
+	 * <br>
+	 * Does nothing by default.
+	 * 
+	 * @see Play#setScene(String)
+	 */
+	default void onHide() {
+		// does nothing by default
+	}
+	
 }
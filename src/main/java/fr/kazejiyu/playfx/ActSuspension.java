@@ -0,0 +1,128 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.animation.Animation;
+
+/**
+ * Keeps track of the background work of an act that must be suspended while the act is off-stage,
+ * as well as of the time the act spent off-stage.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+final class ActSuspension {
+	
+	/** Animations paused while the act is off-stage */
+	private final List <Animation> animations = new ArrayList<>();
+	
+	/** Work suspended while the act is off-stage */
+	private final List <Suspendable> works = new ArrayList<>();
+	
+	/** Animations that were running when the act has been suspended */
+	private final List <Animation> paused = new ArrayList<>();
+	
+	private boolean isSuspended;
+	
+	/** When the act left the stage, as given by System.nanoTime() */
+	private long hiddenSince = System.nanoTime();
+	private boolean isHidden = true;
+	
+	/** Time spent off-stage, not counting the current period */
+	private long idle;
+	
+	void add(Animation animation) {
+		animations.add(animation);
+	}
+	
+	void add(Suspendable work) {
+		works.add(work);
+	}
+	
+	/** Called when the act leaves the stage */
+	void hidden(boolean suspend) {
+		if( ! isHidden ) {
+			isHidden = true;
+			hiddenSince = System.nanoTime();
+		}
+		
+		if( suspend )
+			suspend();
+	}
+	
+	/** Called when the act is put on stage */
+	void shown() {
+		if( isHidden ) {
+			isHidden = false;
+			idle += System.nanoTime() - hiddenSince;
+		}
+		
+		resume();
+	}
+	
+	/** Called when the act is removed from the play: its animations are stopped and its work is left suspended */
+	void dispose() {
+		suspend();
+		
+		for( Animation animation : animations )
+			animation.stop();
+		
+		animations.clear();
+		works.clear();
+		paused.clear();
+	}
+	
+	/** @return the time spent off-stage */
+	Duration idleTime() {
+		long total = isHidden ? idle + System.nanoTime() - hiddenSince : idle;
+		return Duration.ofNanos(total);
+	}
+	
+	private void suspend() {
+		if( isSuspended )
+			return;
+		
+		isSuspended = true;
+		
+		for( Animation animation : animations ) {
+			if( animation.getStatus() == Animation.Status.RUNNING ) {
+				animation.pause();
+				paused.add(animation);
+			}
+		}
+		
+		for( Suspendable work : works )
+			work.suspend();
+	}
+	
+	private void resume() {
+		if( ! isSuspended )
+			return;
+		
+		isSuspended = false;
+		
+		for( Animation animation : paused )
+			animation.play();
+		
+		paused.clear();
+		
+		for( Suspendable work : works )
+			work.resume();
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javafx.application.Platform;
+
+/**
+ * Watches the files from which acts have been prepared and notifies which acts must be reloaded. <br>
+ * <br>
+ * Only resources stored in the file system ({@code file:} URLs) can be watched. Changes are debounced: 
+ * the acts are only reported once no file has changed for a while, so that a burst of saves causes a 
+ * single reload.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+final class ActWatcher implements Closeable {
+	
+	/** Notified of the watched files */
+	private final WatchService service;
+	
+	/** The names of the acts depending on each watched file */
+	private final Map <Path, Set<String>> actsByFile = new ConcurrentHashMap<>();
+	
+	/** Directories already registered to the watch service */
+	private final Set <Path> directories = ConcurrentHashMap.newKeySet();
+	
+	/** Reloads acts */
+	private final Consumer <Set<String>> reload;
+	
+	/** Runs the reloads, typically on the JavaFX Application Thread */
+	private final Executor reloader;
+	
+	/** The time without change after which changed acts are reloaded, in milliseconds */
+	private final long debounce;
+	
+	private static final Logger LOGGER = Logger.getLogger(Play.class.getName());
+	
+	/**
+	 * Creates a new watcher and starts watching.
+	 * 
+	 * @param reload
+	 * 			Reloads the acts whose files have changed. Called on the JavaFX Application Thread.
+	 * @param debounce
+	 * 			The time without change after which changed acts are reloaded.
+	 * 
+	 * @throws IOException if the file system cannot be watched
+	 */
+	ActWatcher(Consumer <Set<String>> reload, Duration debounce) throws IOException {
+		this(reload, debounce, Platform::runLater);
+	}
+	
+	/**
+	 * Creates a new watcher and starts watching.
+	 * 
+	 * @param reload
+	 * 			Reloads the acts whose files have changed. Called by {@code reloader}.
+	 * @param debounce
+	 * 			The time without change after which changed acts are reloaded.
+	 * @param reloader
+	 * 			Runs the reloads.
+	 * 
+	 * @throws IOException if the file system cannot be watched
+	 */
+	ActWatcher(Consumer <Set<String>> reload, Duration debounce, Executor reloader) throws IOException {
+		this.service = FileSystems.getDefault().newWatchService();
+		this.reload = reload;
+		this.reloader = reloader;
+		this.debounce = debounce.toMillis();
+		
+		Thread thread = new Thread(this::run, "playfx-hot-reload");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	/**
+	 * Watches the files an act depends on.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * @param resources
+	 * 			The files the act depends on. Resources that are not stored in the file system, or null, are ignored.
+	 */
+	void watch(String name, URL... resources) {
+		for( URL resource : resources ) {
+			Path file = toPath(resource);
+			
+			if( file == null )
+				continue;
+			
+			try {
+				Path directory = file.getParent();
+				
+				if( directories.add(directory) )
+					directory.register(service, ENTRY_MODIFY, ENTRY_CREATE);
+				
+				actsByFile.computeIfAbsent(file, f -> ConcurrentHashMap.newKeySet()).add(name);
+				
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Unable to watch the file {0} : {1}", new Object[] {file, e});
+			}
+		}
+	}
+	
+	/** Stops watching the files of an act */
+	void unwatch(String name) {
+		for( Set <String> acts : actsByFile.values() )
+			acts.remove(name);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		service.close();
+	}
+	
+	/** Waits for changes, then reports changed acts once no change happens during the debounce delay */
+	private void run() {
+		try {
+			while( true ) {
+				Set <String> changed = new HashSet<>();
+				WatchKey key = service.take();
+				
+				while( key != null ) {
+					collect(key, changed);
+					key = service.poll(debounce, TimeUnit.MILLISECONDS);
+				}
+				
+				if( ! changed.isEmpty() )
+					reloader.execute(() -> reload.accept(changed));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			
+		} catch (ClosedWatchServiceException e) {
+			// the watcher has been closed
+		}
+	}
+	
+	/** Adds to {@code changed} the acts depending on the files reported by {@code key} */
+	private void collect(WatchKey key, Set <String> changed) {
+		Path directory = (Path) key.watchable();
+		
+		for( WatchEvent <?> event : key.pollEvents() ) {
+			if( ! (event.context() instanceof Path) )
+				continue;
+			
+			Set <String> acts = actsByFile.get(directory.resolve((Path) event.context()));
+			
+			if( acts != null )
+				changed.addAll(acts);
+		}
+		key.reset();
+	}
+	
+	/** @return the file located at {@code resource}, or null if it is not stored in the default file system */
+	private static Path toPath(URL resource) {
+		if( resource == null || ! "file".equals(resource.getProtocol()) )
+			return null;
+		
+		try {
+			return Paths.get(resource.toURI()).toAbsolutePath();
+			
+		} catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ResourceBundle;
+
+import fr.kazejiyu.playfx.images.ImageCache;
+import fr.kazejiyu.playfx.loading.internal.CachedImageBuilder;
+import fr.kazejiyu.playfx.loading.internal.CachingClassLoader;
+import fr.kazejiyu.playfx.loading.internal.FxmlImages;
+import fr.kazejiyu.playfx.loading.internal.SharedBuilderFactory;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.image.Image;
+import javafx.util.BuilderFactory;
+
+/**
+ * Configures the {@code FXMLLoader}s used by a {@link Play} to load its acts. <br>
+ * <br>
+ * The configuration is set once and applied to every act. It also owns the caches shared
+ * by all the loads of the play:
+ * <ul>
+ * 	<li>the classes looked up while resolving FXML elements, including the ones that do not exist,</li>
+ * 	<li>the builders required by immutable JavaFX types,</li>
+ * 	<li>the {@link ImageCache images} declared in FXML files.</li>
+ * </ul>
+ * Hence, each act does not have to resolve again the classes and builders resolved by the 
+ * previous ones. The caches are thread-safe and are also used by {@link Play#prepareAsync(String, URL)}. <br>
+ * <br>
+ * The configuration should be set before acts are prepared: acts already loaded are not affected.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see Play#getLoaderConfiguration()
+ */
+public final class LoaderConfiguration {
+	
+	/** Images shared by the acts */
+	private final ImageCache images;
+	
+	/** The class loader used to resolve FXML elements */
+	private volatile ClassLoader classLoader;
+	
+	/** Caches the classes resolved through {@link #classLoader} */
+	private volatile CachingClassLoader cachingClassLoader;
+	
+	/** Creates the builders of immutable types */
+	private volatile BuilderFactory builderFactory;
+	
+	/** The resources used to resolve %keys; null if none */
+	private volatile ResourceBundle resources;
+	
+	/** The charset of FXML files */
+	private volatile Charset charset = StandardCharsets.UTF_8;
+	
+	/** 
+	 * Creates a new configuration relying on {@code FXMLLoader}'s default class loader.
+	 * 
+	 * @param images
+	 * 			The cache in which the images declared in FXML files are looked up.
+	 */
+	LoaderConfiguration(ImageCache images) {
+		this.images = images;
+		setClassLoader(FXMLLoader.getDefaultClassLoader());
+	}
+	
+	/** @return the class loader used to resolve FXML elements */
+	public ClassLoader getClassLoader() {
+		return classLoader;
+	}
+	
+	/**
+	 * Sets the class loader used to resolve FXML elements. <br>
+	 * <br>
+	 * The classes cached so far are discarded.
+	 * 
+	 * @param classLoader
+	 * 			The class loader used to resolve FXML elements. Must not be {@code null}.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public LoaderConfiguration setClassLoader(ClassLoader classLoader) {
+		this.classLoader = requireNonNull(classLoader);
+		this.cachingClassLoader = new CachingClassLoader(classLoader);
+		this.builderFactory = withCachedImages(new SharedBuilderFactory(classLoader));
+		return this;
+	}
+	
+	/** @return the resources used to resolve %keys, or {@code null} if none */
+	public ResourceBundle getResources() {
+		return resources;
+	}
+	
+	/**
+	 * Sets the resources used to resolve %keys in FXML files.
+	 * 
+	 * @param resources
+	 * 			The resources to use; {@code null} if none.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public LoaderConfiguration setResources(ResourceBundle resources) {
+		this.resources = resources;
+		return this;
+	}
+	
+	/** @return the charset of FXML files */
+	public Charset getCharset() {
+		return charset;
+	}
+	
+	/**
+	 * Sets the charset of FXML files. Default is UTF-8.
+	 * 
+	 * @param charset
+	 * 			The charset of FXML files. Must not be {@code null}.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public LoaderConfiguration setCharset(Charset charset) {
+		this.charset = requireNonNull(charset);
+		return this;
+	}
+	
+	/**
+	 * Creates a new loader configured to load {@code location}. <br>
+	 * <br>
+	 * Loaders relying on another class loader than the configured one get a builder factory 
+	 * of their own, which is released with the loader: the shared one would otherwise keep 
+	 * a reference to the classes of isolated acts. Their images are not taken from the 
+	 * {@link ImageCache}, since their plugin may have been updated since they were cached.
+	 * 
+	 * @param classLoader
+	 * 			The class loader used to resolve FXML elements; the cached one if null.
+	 * 
+	 * @return a new loader, ready to load {@code location}
+	 */
+	FXMLLoader newLoader(URL location, ClassLoader classLoader) {
+		if( classLoader == null )
+			return newLoader(location, cachingClassLoader, builderFactory);
+		
+		return newLoader(location, classLoader, new SharedBuilderFactory(classLoader));
+	}
+	
+	private FXMLLoader newLoader(URL location, ClassLoader classLoader, BuilderFactory builders) {
+		FXMLLoader loader = new FXMLLoader(location, resources, builders, null, charset);
+		loader.setClassLoader(classLoader);
+		return loader;
+	}
+	
+	/**
+	 * Starts decoding the images declared in an FXML file loaded with the configured class loader, in background.
+	 * 
+	 * @param location
+	 * 			The location of the FXML file.
+	 * @param document
+	 * 			The content of the FXML file.
+	 */
+	void preloadImages(URL location, byte[] document) {
+		for( String url : FxmlImages.scan(location, cachingClassLoader, new ByteArrayInputStream(document)) )
+			images.preload(url);
+	}
+	
+	/** @return a builder factory building FXML images from the cache */
+	private BuilderFactory withCachedImages(BuilderFactory builders) {
+		return type -> type == Image.class ? new CachedImageBuilder(images, builders.getBuilder(type)) 
+										   : builders.getBuilder(type);
+	}
+
+}
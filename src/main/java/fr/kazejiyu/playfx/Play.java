@@ -16,20 +16,51 @@ package fr.kazejiyu.playfx;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import fr.kazejiyu.playfx.configuration.Converters;
+import fr.kazejiyu.playfx.events.EventBus;
 import fr.kazejiyu.playfx.exceptions.UnloadedActException;
+import fr.kazejiyu.playfx.images.ImageCache;
+import fr.kazejiyu.playfx.localization.Localization;
+import fr.kazejiyu.playfx.persistence.PersistentAct;
+import fr.kazejiyu.playfx.persistence.SnapshotStore;
+import fr.kazejiyu.playfx.updates.UpdateScheduler;
 import fr.kazejiyu.playfx.injection.internal.InjectedControllerFactory;
+import fr.kazejiyu.playfx.isolation.internal.IsolatedClassLoaders;
+import fr.kazejiyu.playfx.isolation.internal.Isolation;
 import javafx.animation.Animation;
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 
 /**
  * A set of {@link Act}s. <br>
@@ -43,13 +74,83 @@ public final class Play {
 	/** The root of all scenes/acts */
 	private final Stage stage;
 	
+	/** Owns the factory, the loader configuration and the caches shared with other plays */
+	private final Theatre theatre;
+	
 	/** Creates injected controllers  */
 	private final InjectedControllerFactory factory;
 	
+	/** Configures the loaders of acts */
+	private final LoaderConfiguration loading;
+	
+	/** Loads acts in background */
+	private final Executor backgroundExecutor;
+	
 	/** Application's states */
 	private final Map <String, Object> acts = new HashMap<>();
 	private final Map <String, Scene> scenes = new HashMap<>();
 	
+	/** The scene shared by all the acts in single scene mode; null otherwise */
+	private Scene sharedScene;
+	
+	/** Holds the roots of the acts on stage in single scene mode */
+	private final StackPane container = new StackPane();
+	
+	/** The root of each act in single scene mode */
+	private final Map <String, Parent> roots = new HashMap<>();
+	
+	/** The location of the FXML file of each act */
+	private final Map <String, URL> locations = new HashMap<>();
+	
+	/** Acts being prefetched, indexed by name; an act is removed if prepared in the meantime */
+	private final Map <String, Object> prefetching = new HashMap<>();
+	
+	/** Prefetched acts that have neither been claimed nor shown yet */
+	private final Set <String> prefetched = new HashSet<>();
+	
+	/** The name of the act currently on stage; null if none */
+	private String currentAct;
+	
+	/** Notified of acts' lifecycle */
+	private final List <PlayListener> listeners = new CopyOnWriteArrayList<>();
+	
+	/** Background work of each act, indexed by act's name and by controller */
+	private final Map <String, ActSuspension> suspensions = new HashMap<>();
+	private final Map <Object, ActSuspension> suspensionsByController = new IdentityHashMap<>();
+	
+	/** Whether the background work of acts is suspended while they are off-stage */
+	private boolean suspendHiddenActs;
+	
+	/** Styles and lays out scenes before they are put on stage */
+	private final ScenePrewarmer prewarmer = new ScenePrewarmer();
+	
+	/** Whether scenes are pre-warmed when prepared and before transitions */
+	private boolean prewarmScenes;
+	
+	/** Delivers events between acts */
+	private final EventBus events = new EventBus();
+	
+	/** Applies background updates on the JavaFX Application Thread */
+	private final UpdateScheduler updates = new UpdateScheduler();
+	
+	/** Class loaders owned by isolated acts, indexed by act's name */
+	private final Map <String, Isolation> isolations = new HashMap<>();
+	
+	/** Reloads the acts whose files change; null if hot reload is disabled */
+	private ActWatcher watcher;
+	
+	/** Stores the state of persistent acts; null if persistence is disabled */
+	private SnapshotStore snapshots;
+	
+	/** Localizes the acts; null if localization is disabled */
+	private Localization localization;
+	
+	
+	/** The time without change after which changed acts are reloaded */
+	private static final Duration HOT_RELOAD_DEBOUNCE = Duration.ofMillis(300);
+	
+	private static final Logger LOGGER = Logger.getLogger(Play.class.getName());
+	
 	/**
 	 * Creates a new piece that will be directed on the given stage.
 	 * 
@@ -70,8 +171,39 @@ public final class Play {
 	 * 			Takes the name of the variable to inject and return its value.
 	 */
 	public Play(Stage stage, Function <String,Object> instanciator) {
+		this(stage, instanciator, Converters.defaults());
+	}
+
+	/**
+	 * Creates a new piece that will be directed on the given stage.
+	 * 
+	 * @param stage
+	 * 			The primary stage of the application.
+	 * @param instanciator
+	 * 			Defines the values available to be injected into controllers.
+	 * 			Takes the name of the variable to inject and return its value.
+	 * @param converters
+	 * 			Converts the textual values coming from configuration files and 
+	 * 			command line arguments to the type of the injected fields.
+	 */
+	public Play(Stage stage, Function <String,Object> instanciator, Converters converters) {
+		this(stage, new Theatre(instanciator, converters));
+	}
+	
+	/**
+	 * Creates a new piece that will be directed on the given stage and that shares the caches of a theatre.
+	 * 
+	 * @see Theatre#createPlay(Stage)
+	 */
+	Play(Stage stage, Theatre theatre) {
 		this.stage = requireNonNull(stage);
-		this.factory = new InjectedControllerFactory(instanciator);
+		this.theatre = theatre;
+		this.factory = theatre.factory();
+		this.loading = theatre.getLoaderConfiguration();
+		this.backgroundExecutor = theatre.backgroundExecutor();
+		
+		stage.getProperties().put(Play.class, this);
+		theatre.opened(this);
 	}
 	
 	/** 
@@ -95,9 +227,578 @@ public final class Play {
 	public Stage getStage() {
 		return stage;
 	}
+	
+	/**
+	 * Returns the play directed on a stage.
+	 * 
+	 * @param stage
+	 * 			The stage on which the play is directed.
+	 * 
+	 * @return the last play created on {@code stage}, if any
+	 */
+	public static Optional <Play> directedOn(Stage stage) {
+		Object play = stage.getProperties().get(Play.class);
+		return play instanceof Play ? Optional.of((Play) play) : Optional.empty();
+	}
+	
+	/** @return the names of the prepared acts */
+	public Set <String> getActs() {
+		return Collections.unmodifiableSet(new HashSet<>(scenes.keySet()));
+	}
+	
+	/** @return the name of the act currently on stage, if any */
+	public Optional <String> getCurrentAct() {
+		return Optional.ofNullable(currentAct);
+	}
+	
+	/**
+	 * Returns the location of the FXML file from which an act has been prepared.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * 
+	 * @return the location of act's FXML file, if the act has been prepared
+	 */
+	public Optional <URL> getLocation(String name) {
+		return Optional.ofNullable(locations.get(name));
+	}
+	
+	/**
+	 * Enables or disables the single scene mode. <br>
+	 * <br>
+	 * By default, each act has its own {@code Scene} and {@link #setScene(String)} replaces 
+	 * the scene of the stage. In single scene mode, the play owns a single scene whose root is 
+	 * a container; putting an act on stage only replaces the root of the previous act by its own 
+	 * in the container. Hence the window is neither resized nor restyled, the focus and accessibility 
+	 * state are kept, and the CSS and rendering state of a single scene is kept in memory. <br>
+	 * <br>
+	 * In this mode, acts {@link Act#prepare(Play, Scene) are given} the shared scene: stylesheets 
+	 * specific to an act should be added to its root rather than to the scene. Transitions must 
+	 * animate both roots with {@link #setRoot(String, RootTransition)}: the transitions given to 
+	 * {@link #setScene(String, BiFunction)} receive the shared scene, hence can only animate 
+	 * the whole container. <br>
+	 * <br>
+	 * The mode must be chosen before any act is prepared; setting the current mode again has no effect.
+	 * 
+	 * @param enabled
+	 * 			Whether all the acts share a single scene.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 * 
+	 * @throws IllegalStateException if acts have already been prepared and the mode changes
+	 */
+	public Play setSingleScene(boolean enabled) {
+		if( enabled == (sharedScene != null) )
+			return this;
+		
+		if( ! scenes.isEmpty() )
+			throw new IllegalStateException("The scene mode must be chosen before acts are prepared");
+		
+		// A node can be the root of a single scene: the one created the first time is reused
+		if( enabled )
+			this.sharedScene = container.getScene() != null ? container.getScene() : new Scene(container);
+		else
+			this.sharedScene = null;
+		
+		return this;
+	}
+	
+	/**
+	 * Enables or disables the pre-warming of scenes. <br>
+	 * <br>
+	 * When enabled, CSS is applied and layout computed on the scene of an act:
+	 * <ul>
+	 * 	<li>right after it has been {@link #prepare(String, URL) prepared},</li>
+	 * 	<li>before an animated transition towards it starts.</li>
+	 * </ul>
+	 * Switching to the act then only attaches an already styled and laid out 
+	 * scene graph to the stage, avoiding a stutter on the first frame. <br>
+	 * <br>
+	 * Disabled by default.
+	 * 
+	 * @param enabled
+	 * 			Whether scenes should be pre-warmed.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 * 
+	 * @see #prewarm(String)
+	 */
+	public Play setScenePrewarming(boolean enabled) {
+		this.prewarmScenes = enabled;
+		return this;
+	}
+	
+	/**
+	 * Applies CSS and computes the layout of an act's scene during the next pulses. <br>
+	 * <br>
+	 * Each pulse performs at most one pass on one scene, so that pre-warming large
+	 * scenes does not freeze the act currently on stage. Must be called on the 
+	 * JavaFX Application Thread.
+	 * 
+	 * @param name
+	 * 			The name of the act to pre-warm.
+	 * 
+	 * @return a future completed once the scene has been pre-warmed.
+	 * 
+	 * @throws UnloadedActException if the act has not been loaded
+	 * 
+	 * @see #setScenePrewarming(boolean)
+	 */
+	public CompletableFuture <Void> prewarm(String name) {
+		if( ! scenes.containsKey(name) )
+			throw new UnloadedActException(name);
+		
+		if( sharedScene != null )
+			return prewarmer.prewarmLater(roots.get(name), container);
+		
+		return prewarmer.prewarmLater(scenes.get(name));
+	}
+	
+	/**
+	 * Enables the persistence of acts' state. <br>
+	 * <br>
+	 * Once enabled, the state of each act implementing {@link PersistentAct} is:
+	 * <ul>
+	 * 	<li>restored right after the act has been prepared,</li>
+	 * 	<li>saved when the act is {@link #removeScene(String) removed}, when the stage
+	 * 		is hidden or when {@link #saveStates()} is called.</li>
+	 * </ul>
+	 * 
+	 * @param directory
+	 * 			The directory in which the states are stored. Created if missing.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 * 
+	 * @see #saveStates()
+	 */
+	public Play persistStatesIn(Path directory) {
+		if( snapshots == null )
+			stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> saveStates());
+		
+		this.snapshots = new SnapshotStore(directory);
+		return this;
+	}
+	
+	/**
+	 * Saves the state of all the acts implementing {@link PersistentAct}. <br>
+	 * <br>
+	 * Intended to be called from {@link javafx.application.Application#stop()}.
+	 * Does nothing unless the persistence has been {@link #persistStatesIn(Path) enabled}.
+	 */
+	public void saveStates() {
+		acts.forEach(this::saveState);
+	}
+	
+	private void saveState(String name, Object act) {
+		if( snapshots == null || ! (act instanceof PersistentAct) )
+			return;
+		
+		try {
+			snapshots.save(name, (PersistentAct) act);
+			
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Failed to save the state of the act {0} : {1}", new Object[] {name, e});
+		}
+	}
+	
+	private void restoreState(String name, Object act) {
+		if( snapshots == null || ! (act instanceof PersistentAct) )
+			return;
+		
+		try {
+			snapshots.restore(name, (PersistentAct) act);
+			
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Failed to restore the state of the act {0} : {1}", new Object[] {name, e});
+		}
+	}
+	
+	/**
+	 * Enables or disables the suspension of acts' background work while they are off-stage. <br>
+	 * <br>
+	 * When enabled, the animations and the work registered with 
+	 * {@link #suspendWhenHidden(Object, Animation)} and {@link #suspendWhenHidden(Object, Suspendable)}
+	 * are paused when their act leaves the stage, and resumed when it comes back. <br>
+	 * <br>
+	 * Disabled by default.
+	 * 
+	 * @param enabled
+	 * 			Whether hidden acts should be suspended.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public Play setSuspendHiddenActs(boolean enabled) {
+		this.suspendHiddenActs = enabled;
+		return this;
+	}
+	
+	/**
+	 * Registers an animation that must be paused while its act is off-stage. <br>
+	 * <br>
+	 * Intended to be called from {@link Act#prepare(Play, Scene)}. Only animations
+	 * running when the act leaves the stage are paused, then resumed when it comes back.
+	 * Has no effect unless {@link #setSuspendHiddenActs(boolean) enabled}.
+	 * 
+	 * @param controller
+	 * 			The controller of the act owning the animation.
+	 * @param animation
+	 * 			The animation to pause.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 * 
+	 * @throws IllegalArgumentException if {@code controller} does not belong to this play
+	 */
+	public Play suspendWhenHidden(Object controller, Animation animation) {
+		suspensionOf(controller).add(requireNonNull(animation));
+		return this;
+	}
+	
+	/**
+	 * Registers background work that must be suspended while its act is off-stage. <br>
+	 * <br>
+	 * Intended to be called from {@link Act#prepare(Play, Scene)}.
+	 * Has no effect unless {@link #setSuspendHiddenActs(boolean) enabled}.
+	 * 
+	 * @param controller
+	 * 			The controller of the act owning the work.
+	 * @param work
+	 * 			The work to suspend.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 * 
+	 * @throws IllegalArgumentException if {@code controller} does not belong to this play
+	 */
+	public Play suspendWhenHidden(Object controller, Suspendable work) {
+		suspensionOf(controller).add(requireNonNull(work));
+		return this;
+	}
+	
+	/**
+	 * Returns the time an act spent off-stage since it has been prepared.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * 
+	 * @return the time the act spent off-stage.
+	 * 
+	 * @throws UnloadedActException if the act has not been loaded
+	 */
+	public Duration getIdleTime(String name) {
+		if( ! suspensions.containsKey(name) )
+			throw new UnloadedActException(name);
+		
+		return suspensions.get(name).idleTime();
+	}
+	
+	private ActSuspension suspensionOf(Object controller) {
+		ActSuspension suspension = suspensionsByController.get(controller);
+		
+		if( suspension == null )
+			throw new IllegalArgumentException(controller + " is not the controller of an act of this play");
+		
+		return suspension;
+	}
+	
+	/** Called when an act leaves the stage */
+	private void hide(String name) {
+		Object act = acts.get(name);
+		ActSuspension suspension = suspensions.get(name);
+		
+		if( act instanceof Act )
+			((Act) act).onHide();
+		
+		if( suspension != null )
+			suspension.hidden(suspendHiddenActs);
+	}
+	
+	/** 
+	 * Called when an act leaves the play, either removed or replaced by a new version: 
+	 * the act is taken off stage, its background work is stopped, its subscriptions 
+	 * are cancelled and its isolated class loader, if any, is released.
+	 */
+	private void dispose(String name) {
+		if( name.equals(currentAct) ) {
+			hide(name);
+			currentAct = null;
+		}
+		
+		Object act = acts.get(name);
+		ActSuspension suspension = suspensions.remove(name);
+		
+		if( suspension != null )
+			suspension.dispose();
+		
+		if( act != null ) {
+			events.unsubscribeAll(act);
+			suspensionsByController.remove(act);
+		}
+		release(isolations.remove(name));
+	}
+	
+	/** Called when an act is put on stage */
+	private void show(String name) {
+		Object act = acts.get(name);
+		ActSuspension suspension = suspensions.get(name);
+		
+		if( suspension != null )
+			suspension.shown();
+		
+		if( act instanceof Act )
+			((Act) act).onShow();
+	}
+	
+	/**
+	 * Returns the event bus shared by the acts of the play. <br>
+	 * <br>
+	 * The subscriptions owned by an act are cancelled when the act is {@link #removeScene(String) removed}.
+	 * 
+	 * @return the event bus shared by the acts of the play.
+	 */
+	public EventBus getEventBus() {
+		return events;
+	}
+	
+	/**
+	 * Returns the scheduler used to apply background updates on the JavaFX Application Thread. <br>
+	 * <br>
+	 * Prefer the scheduler over {@link Platform#runLater(Runnable)} for high-frequency updates: 
+	 * updates of the same key are merged and applied by batch, within a time budget per pulse.
+	 * 
+	 * @return the scheduler used to apply background updates.
+	 */
+	public UpdateScheduler getUpdateScheduler() {
+		return updates;
+	}
+	
+	/**
+	 * Registers a listener that will be notified of acts' lifecycle.
+	 * 
+	 * @param listener
+	 * 			The listener to register. Must not be {@code null}.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public Play addListener(PlayListener listener) {
+		listeners.add(requireNonNull(listener));
+		return this;
+	}
+	
+	/**
+	 * Unregisters a listener.
+	 * 
+	 * @param listener
+	 * 			The listener to unregister.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public Play removeListener(PlayListener listener) {
+		listeners.remove(listener);
+		return this;
+	}
+
+	/**
+	 * Enables or disables hot reload. <br>
+	 * <br>
+	 * When enabled, the FXML file of each act and the configuration file of its controller 
+	 * are watched. When they change, the act is prepared again from its location and replaces 
+	 * the previous one; if it was on stage, the new one is put on stage. Changes are debounced, 
+	 * so that a burst of saves causes a single reload. If the new version of the act cannot be 
+	 * loaded, the previous one is kept and the error is logged. <br>
+	 * <br>
+	 * Only files stored in the file system can be watched, and the classes of the controllers 
+	 * are not reloaded. Isolated acts are not reloaded either. Intended for development.
+	 * 
+	 * @param enabled
+	 * 			Whether acts are reloaded when their files change.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public Play setHotReload(boolean enabled) {
+		if( enabled == (watcher != null) )
+			return this;
+		
+		if( ! enabled ) {
+			try {
+				watcher.close();
+				
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Failed to stop watching the acts : {0}", new Object[] {e});
+			}
+			watcher = null;
+			return this;
+		}
+		
+		try {
+			watcher = new ActWatcher(this::reload, HOT_RELOAD_DEBOUNCE);
+			locations.forEach(this::watch);
+			
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Unable to watch the acts : {0}", new Object[] {e});
+		}
+		return this;
+	}
+	
+	/** Watches the FXML file of an act and the configuration file of its controller, if hot reload is enabled */
+	private void watch(String name, URL location) {
+		if( watcher == null )
+			return;
+		
+		Object act = acts.get(name);
+		watcher.watch(name, location, act == null ? null : factory.configurationOf(act.getClass()));
+	}
+	
+	/** Prepares again the given acts and puts them in place of the previous ones */
+	private void reload(Set <String> names) {
+		if( watcher == null )
+			return;
+		
+		for( String name : names ) {
+			URL location = locations.get(name);
+			
+			if( location == null || isolations.containsKey(name) )
+				continue;
+			
+			Object previous = acts.get(name);
+			theatre.forget(location);
+			
+			if( previous != null )
+				factory.invalidate(previous.getClass());
+			
+			try {
+				long start = System.nanoTime();
+				FXMLLoader loader = load(location);
+				boolean wasCurrent = name.equals(currentAct);
+				
+				removeScene(name);
+				register(name, location, loader, start, null);
+				
+				if( wasCurrent )
+					setScene(name);
+				
+				LOGGER.log(Level.INFO, "Reloaded the act {0}", name);
+				
+			} catch (IOException | RuntimeException e) {
+				LOGGER.log(Level.WARNING, "Failed to reload the act {0} : {1}", new Object[] {name, e});
+			}
+		}
+	}
+	
+	/**
+	 * Resolves the values injected into each controller concurrently. <br>
+	 * <br>
+	 * By default, the values given by the instanciator are requested one after another. 
+	 * When the instanciator blocks (remote configuration, lazy connections, ...), all the values 
+	 * of a controller, for its constructor and its fields, can instead be requested at the same time 
+	 * on {@code executor}: the controller is created and its fields are written once they have all 
+	 * arrived. Values that do not arrive before {@code deadline} are reported as missing and are not 
+	 * injected; the instanciator is not interrupted, and the values it returns late are discarded. <br>
+	 * <br>
+	 * The instanciator must then be thread-safe. The setting is shared by all the plays of the {@link #getTheatre() theatre}.
+	 * 
+	 * @param executor
+	 * 			Runs the instanciator. If {@code null}, values are resolved one after another.
+	 * @param deadline
+	 * 			The time allowed to resolve all the values of a controller. Must be positive.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public Play setConcurrentInjection(Executor executor, Duration deadline) {
+		factory.setConcurrentResolution(executor, deadline);
+		return this;
+	}
+	
+	/** @return the theatre owning the caches of the play, possibly shared with other plays */
+	public Theatre getTheatre() {
+		return theatre;
+	}
+	
+	/**
+	 * Returns the configuration applied to the {@code FXMLLoader}s of the play. <br>
+	 * <br>
+	 * The class loader, resources and charset it defines are used by every act prepared
+	 * afterwards, and the classes and builders it resolves are shared by all of them.
+	 * The configuration is shared by all the plays of the {@link #getTheatre() theatre}.
+	 * 
+	 * @return the configuration of play's loaders
+	 */
+	public LoaderConfiguration getLoaderConfiguration() {
+		return loading;
+	}
+
+	/**
+	 * Returns the images shared by the acts of the play. <br>
+	 * <br>
+	 * The images declared in the FXML file of an act are decoded in background, in parallel,
+	 * while the act is prepared. They are then looked up in this cache, so that every scene
+	 * shares the same {@code Image} instances.
+	 * 
+	 * @return the images shared by the acts of the play
+	 */
+	public ImageCache getImageCache() {
+		return theatre.getImageCache();
+	}
+	
+	/**
+	 * Localizes the acts of the play. <br>
+	 * <br>
+	 * The bundle of the current locale is given to the FXML files of the acts prepared afterwards
+	 * by this play, so that their {@code %key} attributes are resolved; the other plays of the 
+	 * {@link #getTheatre() theatre} keep their own resources. These attributes are resolved once, though: 
+	 * the texts that must follow the changes of locale have to be bound to the localization instead.
+	 * Changing the locale then translates all the prepared acts at once, without reloading them:
+	 * 
+	 * <pre>
+	 * // into the controller of an act
+	 * title.textProperty().bind(play.getLocalization().get().bind("orders.title"));
+	 * </pre>
+	 * 
+	 * @param localization
+	 * 			Localizes the acts. Must not be null.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public Play setLocalization(Localization localization) {
+		this.localization = requireNonNull(localization, "The localization must not be null");
+		return this;
+	}
+	
+	/** @return the localization of the acts, if any */
+	public Optional <Localization> getLocalization() {
+		return Optional.ofNullable(localization);
+	}
+	
+	/** @return the resources given to the acts prepared now: the bundle of the current locale if localized, the configured ones otherwise */
+	private ResourceBundle resources() {
+		return localization == null ? loading.getResources() : localization.getBundle();
+	}
+	
+	/**
+	 * Loads an act already prepared by another play of the same {@link #getTheatre() theatre}. <br>
+	 * <br>
+	 * The act is loaded from the same location, without reading again its FXML file
+	 * nor the configuration of its controller. A new controller and a new scene graph 
+	 * are created, since nodes cannot be shared between scenes.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * 
+	 * @return the controller loaded by {@code FXMLLoader}.
+	 * 
+	 * @param <T> The type of the controller loaded by {@code FXMLLoader}.
+	 * 
+	 * @throws UnloadedActException if no play of the theatre has prepared the act
+	 * @throws IOException if {@code FXMLLoader} fails to load the act.
+	 */
+	public <T> T prepare(String name) throws IOException {
+		URL location = theatre.getLocation(name).orElseThrow(() -> new UnloadedActException(name));
+		return prepare(name, location);
+	}
 
 	/**
-	 * Loads an act.
+	 * Loads an act. <br>
+	 * <br>
+	 * An act already prepared under the same name is replaced: it is taken off stage
+	 * and disposed of as if it had been {@link #removeScene(String) removed}.
 	 * 
 	 * @param name
 	 * 			The name given to the loaded act. Must be unique.
@@ -109,27 +810,351 @@ public final class Play {
 	 * @param <T> The type of the controller loaded by {@code FXMLLoader}.
 	 * 
 	 * @throws IOException if {@code FXMLLoader} fails to load {@code location}.
+	 * 
+	 * @see #prefetch(String, URL)
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> T prepare(String name, URL location) throws IOException {
-		FXMLLoader loader = new FXMLLoader(location);
+		if( claim(name, location) )
+			return (T) acts.get(name);
+		
+		long start = System.nanoTime();
+		return register(name, location, load(location), start, null);
+	}
+	
+	/**
+	 * Loads an act in background. <br>
+	 * <br>
+	 * The FXML file, as well as the values injected into the controller, are loaded 
+	 * in a background thread (a virtual thread when running on Java 21 or later). 
+	 * The scene is then created and the act registered on the JavaFX Application Thread.
+	 * 
+	 * @param name
+	 * 			The name given to the loaded act. Must be unique.
+	 * @param location
+	 * 			The location of the .fxml file that describes the scene. 
+	 * 
+	 * @return a future completed with the controller loaded by {@code FXMLLoader} once the act is ready,
+	 * 		   or completed exceptionally with an {@link UncheckedIOException} if {@code FXMLLoader} fails
+	 * 		   to load {@code location}.
+	 * 
+	 * @param <T> The type of the controller loaded by {@code FXMLLoader}.
+	 * 
+	 * @see #prepare(String, URL)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture <T> prepareAsync(String name, URL location) {
+		if( claim(name, location) )
+			return CompletableFuture.completedFuture((T) acts.get(name));
+		
+		long start = System.nanoTime();
+		ResourceBundle resources = resources();
+		
+		return CompletableFuture.supplyAsync(() -> loadUnchecked(location, resources), backgroundExecutor)
+								.thenApplyAsync(loader -> register(name, location, loader, start, null), Platform::runLater);
+	}
+	
+	/**
+	 * Loads an act in background, in anticipation. <br>
+	 * <br>
+	 * The act is loaded like with {@link #prepareAsync(String, URL)}, but is not considered 
+	 * as prepared yet: the first call to {@link #prepare(String, URL)} or {@link #prepareAsync(String, URL)} 
+	 * with the same name and location claims it and returns its controller immediately. 
+	 * If the act is prepared before the prefetch is over, the prefetched one is discarded. <br>
+	 * <br>
+	 * Does nothing if the act is already prepared or being prefetched. Failures are logged.
+	 * 
+	 * @param name
+	 * 			The name given to the loaded act. Must be unique.
+	 * @param location
+	 * 			The location of the .fxml file that describes the scene. 
+	 * 
+	 * @return a future completed once the prefetch is over
+	 * 
+	 * @see #isPrefetched(String)
+	 */
+	public CompletableFuture <Void> prefetch(String name, URL location) {
+		if( scenes.containsKey(name) || prefetching.containsKey(name) )
+			return CompletableFuture.completedFuture(null);
+		
+		Object token = new Object();
+		prefetching.put(name, token);
+		
+		long start = System.nanoTime();
+		ResourceBundle resources = resources();
+		
+		return CompletableFuture.supplyAsync(() -> loadUnchecked(location, resources), backgroundExecutor)
+								.handleAsync((loader, error) -> {
+									boolean wanted = prefetching.remove(name, token) && ! scenes.containsKey(name);
+									
+									if( error != null )
+										LOGGER.log(Level.WARNING, "Failed to prefetch the act {0} : {1}", new Object[] {name, error});
+									
+									else if( wanted ) {
+										// marked first, so that listeners can tell prefetched acts apart
+										prefetched.add(name);
+										
+										try {
+											register(name, location, loader, start, null);
+											
+										} catch(RuntimeException e) {
+											prefetched.remove(name);
+											throw e;
+										}
+									}
+									return null;
+									
+								}, Platform::runLater);
+	}
+	
+	/**
+	 * Returns whether an act has been prefetched and has neither been claimed nor put on stage since. <br>
+	 * <br>
+	 * A prefetched act is already considered as prefetched when listeners are notified that it has been loaded.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * 
+	 * @return whether the act is prefetched and unused
+	 * 
+	 * @see #prefetch(String, URL)
+	 */
+	public boolean isPrefetched(String name) {
+		return prefetched.contains(name);
+	}
+	
+	/**
+	 * Cancels the prefetch of an act. <br>
+	 * <br>
+	 * An act still being loaded is discarded once loaded; an act already prefetched 
+	 * and still unused is {@link #removeScene(String) removed}.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * 
+	 * @return whether a prefetch has been cancelled
+	 * 
+	 * @see #prefetch(String, URL)
+	 */
+	public boolean cancelPrefetch(String name) {
+		if( prefetching.remove(name) != null )
+			return true;
+		
+		if( ! prefetched.contains(name) )
+			return false;
+		
+		removeScene(name);
+		return true;
+	}
+	
+	/** 
+	 * Cancels the pending prefetch of an act, if any.
+	 * 
+	 * @return whether the act has been prefetched from {@code location}, hence can be used as is
+	 */
+	private boolean claim(String name, URL location) {
+		prefetching.remove(name);
+		
+		if( ! prefetched.remove(name) )
+			return false;
+		
+		URL prefetchedFrom = locations.get(name);
+		return prefetchedFrom != null && prefetchedFrom.toExternalForm().equals(location.toExternalForm());
+	}
+	
+	/**
+	 * Loads an act in its own class loader. <br>
+	 * <br>
+	 * The classes of the act, such as its controller, are loaded by a class loader dedicated 
+	 * to the act. Once the act is {@link #removeScene(String) removed}, the class loader is 
+	 * released so that the classes can be unloaded. This is typically used to load screens 
+	 * provided by plugins that can be updated during the session. <br>
+	 * <br>
+	 * Isolation only relies on class loaders: modular jars are loaded as unnamed modules.
+	 * 
+	 * @param name
+	 * 			The name given to the loaded act. Must be unique.
+	 * @param fxml
+	 * 			The name of the .fxml file that describes the scene, 
+	 * 			looked up as a resource of the isolated class loader.
+	 * @param classpath
+	 * 			The locations of the classes and resources of the act.
+	 * 
+	 * @return the controller loaded by {@code FXMLLoader}.
+	 * 
+	 * @param <T> The type of the controller loaded by {@code FXMLLoader}.
+	 * 
+	 * @throws IOException if {@code fxml} cannot be found or if {@code FXMLLoader} fails to load it.
+	 */
+	public <T> T prepareIsolated(String name, String fxml, URL... classpath) throws IOException {
+		prefetching.remove(name);
+		prefetched.remove(name);
+		
+		long start = System.nanoTime();
+		Isolation isolation = IsolatedClassLoaders.create(classpath, Play.class.getClassLoader());
+		
+		try {
+			URL location = isolation.getClassLoader().getResource(fxml);
+			
+			if( location == null )
+				throw new IOException("Unable to find " + fxml + " in " + Arrays.toString(classpath));
+			
+			return register(name, location, load(location, isolation.getClassLoader(), resources()), start, isolation);
+			
+		} catch(IOException | RuntimeException e) {
+			isolations.remove(name, isolation);
+			release(isolation);
+			throw e;
+		}
+	}
+	
+	/**
+	 * Returns whether an act has been {@link #prepareIsolated(String, String, URL...) prepared in its own class loader}. <br>
+	 * <br>
+	 * An isolated act is already considered as isolated when listeners are notified that it has been loaded.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * 
+	 * @return whether the act is isolated
+	 */
+	public boolean isIsolated(String name) {
+		return isolations.containsKey(name);
+	}
+	
+	/**
+	 * Returns the class path of an act {@link #prepareIsolated(String, String, URL...) prepared in its own class loader}.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * 
+	 * @return the locations of the classes and resources of the act; empty if the act is not isolated
+	 */
+	public List <URL> getIsolatedClasspath(String name) {
+		Isolation isolation = isolations.get(name);
+		return isolation == null ? Collections.emptyList() : isolation.getClasspath();
+	}
+	
+	/** Closes the class loader of an isolated act */
+	private static void release(Isolation isolation) {
+		if( isolation == null )
+			return;
+		
+		try {
+			isolation.close();
+			
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Failed to release the class loader of an act : {0}", new Object[] {e});
+		}
+	}
+	
+	/** @return the loader used to load {@code location}, once the loading is done */
+	private FXMLLoader load(URL location) throws IOException {
+		return load(location, null, resources());
+	}
+	
+	/** 
+	 * @param classLoader
+	 * 			The class loader used by {@code FXMLLoader}; the configured one if null.
+	 * @param resources
+	 * 			The resources used to resolve %keys; {@code null} if none.
+	 * 
+	 * @return the loader used to load {@code location}, once the loading is done 
+	 */
+	private FXMLLoader load(URL location, ClassLoader classLoader, ResourceBundle resources) throws IOException {
+		// Isolated acts may be updated between two loads, hence neither their documents nor their images are cached
+		byte[] document = classLoader == null ? theatre.document(location) : Theatre.read(location);
+		
+		if( classLoader == null )
+			loading.preloadImages(location, document);
+		
+		FXMLLoader loader = loading.newLoader(location, classLoader);
+		loader.setResources(resources);
 		loader.setControllerFactory(factory);
-
-		Parent root = loader.load();
-		Scene scene = new Scene(root);
+		loader.load(new ByteArrayInputStream(document));
+		
+		return loader;
+	}
+	
+	private FXMLLoader loadUnchecked(URL location, ResourceBundle resources) {
+		try {
+			return load(location, null, resources);
+			
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/** 
+	 * Creates the scene of a loaded act and makes it available to {@link #setScene(String)}
+	 * 
+	 * @param start
+	 * 			The time at which the preparation of the act started, as given by {@link System#nanoTime()}.
+	 * @param isolation
+	 * 			The class loader of the act if it is isolated; {@code null} if the other plays 
+	 * 			of the theatre can prepare the act by its name.
+	 */
+	private <T> T register(String name, URL location, FXMLLoader loader, long start, Isolation isolation) {
+		if( scenes.containsKey(name) )
+			dispose(name);
+		
+		if( isolation != null )
+			isolations.put(name, isolation);
+		
+		Parent root = loader.getRoot();
+		Scene scene = sharedScene != null ? sharedScene : new Scene(root);
 		T act = loader.getController();
 		
+		ActSuspension suspension = new ActSuspension();
+		
+		if( act != null )
+			suspensionsByController.put(act, suspension);
+		
 		// TODO Replace instanceof by dynamic dispatch ?
 		if( act instanceof Act )
 			((Act) act).prepare(this, scene);
 		
+		restoreState(name, act);
+		
+		if( prewarmScenes )
+			prewarmNow(scene, root);
+		
 		acts.put(name, act);
 		scenes.put(name, scene);
+		locations.put(name, location);
+		
+		if( sharedScene != null )
+			roots.put(name, root);
+
+		if( isolation == null )
+			theatre.prepared(name, location);
+		else
+			theatre.removed(name);
+		
+		watch(name, location);
+		suspensions.put(name, suspension);
+		
+		if( ! name.equals(currentAct) )
+			suspension.hidden(suspendHiddenActs);
+		
+		Duration duration = Duration.ofNanos(System.nanoTime() - start);
+		
+		for( PlayListener listener : listeners ) {
+			listener.actLoaded(name, location, duration);
+			listener.actPrepared(name, act, scene);
+		}
 		
 		return act;
 	}
 	
 	/**
-	 * Frees an act from memory.
+	 * Frees an act from memory. <br>
+	 * <br>
+	 * If the persistence of states is {@link #persistStatesIn(Path) enabled}, 
+	 * the state of the act is saved beforehand. If the act is on stage, it is notified with
+	 * {@link Act#onHide()} and the play is left without current act. Its background work is stopped, 
+	 * the subscriptions owned by the act on the {@link #getEventBus() event bus} are cancelled and, if the act has been
+	 * {@link #prepareIsolated(String, String, URL...) isolated}, its class loader is released.
 	 * 
 	 * @param name
 	 * 			The name of the act to free.
@@ -137,8 +1162,29 @@ public final class Play {
 	 * @return a reference to self, enabling method chaining
 	 */
 	public Play removeScene(String name) {
+		Object act = acts.get(name);
+		
+		if( act != null )
+			saveState(name, act);
+		
+		dispose(name);
 		acts.remove(name);
-		scenes.remove(name);
+		
+		if( locations.remove(name) != null )
+			theatre.removed(name);
+		
+		prefetching.remove(name);
+		prefetched.remove(name);
+		
+		if( watcher != null )
+			watcher.unwatch(name);
+		
+		roots.remove(name);
+		
+		if( scenes.remove(name) != null ) {
+			for( PlayListener listener : listeners )
+				listener.actRemoved(name);
+		}
 		
 		return this;
 	}
@@ -147,6 +1193,8 @@ public final class Play {
 	 * Sets the current scene of the play. <br>
 	 * <br>
 	 * Before being set, a scene must be {@link #prepare(String, URL) prepared}.
+	 * The act leaving the stage is notified with {@link Act#onHide()}, 
+	 * the new one with {@link Act#onShow()}.
 	 * 
 	 * @param name
 	 * 			The name of the act to show.
@@ -164,7 +1212,30 @@ public final class Play {
 			throw new UnloadedActException(name);
 		
 		Scene scene = scenes.get(name);
-		stage.setScene(scene);
+		String previousAct = currentAct;
+		
+		if( sharedScene == null )
+			stage.setScene(scene);
+		
+		else {
+			container.getChildren().setAll(roots.get(name));
+			
+			if( stage.getScene() != sharedScene )
+				stage.setScene(sharedScene);
+		}
+		
+		currentAct = name;
+		prefetched.remove(name);
+		
+		if( ! name.equals(previousAct) ) {
+			if( previousAct != null )
+				hide(previousAct);
+			
+			show(name);
+		}
+		
+		for( PlayListener listener : listeners )
+			listener.actShown(name, scene);
 		
 		return this;
 	}
@@ -173,6 +1244,9 @@ public final class Play {
 	 * Sets the current scene of the play using an animated transition. <br>
 	 * <br>
 	 * Before being set, a scene must be {@link #prepare(String, URL) prepared}.
+	 * In {@link #setSingleScene(boolean) single scene mode}, the transition can only animate 
+	 * the shared scene, which shows the outgoing act until the transition is over: 
+	 * {@link #setRoot(String, RootTransition)} animates both acts instead.
 	 * 
 	 * @param name
 	 * 			The name of the act to show.
@@ -195,6 +1269,10 @@ public final class Play {
 	 * Sets the current scene of the play using an animated transition. <br>
 	 * <br>
 	 * Before being set, a scene must be {@link #prepare(String, URL) prepared}.
+	 * In {@link #setSingleScene(boolean) single scene mode}, the transition is given the 
+	 * shared scene, which shows the outgoing act until the transition is over: it animates
+	 * the whole container rather than the acts. {@link #setRoot(String, RootTransition)} 
+	 * animates the roots of both acts instead.
 	 * 
 	 * @param name
 	 * 			The name of the act to show.
@@ -215,6 +1293,10 @@ public final class Play {
 			throw new UnloadedActException(name);
 		
 		Scene nextScene = scenes.get(name);
+		
+		if( prewarmScenes )
+			prewarmNow(nextScene, roots.get(name));
+		
 		Animation anim = transition.apply(stage, nextScene);
 		
 		anim.setOnFinished(e -> setScene(name));
@@ -222,4 +1304,64 @@ public final class Play {
 		
 		return this;
 	}
+	
+	/**
+	 * Puts an act on stage with an animated transition between the roots of the acts, in single scene mode. <br>
+	 * <br>
+	 * The root of the act is added on top of the root of the act currently on stage, 
+	 * then the transition is played. Once it is finished, the previous root is removed
+	 * and the act is considered on stage.
+	 * 
+	 * @param name
+	 * 			The name of the act to put on stage.
+	 * @param transition
+	 * 			Creates the animation played between the two roots.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 * 
+	 * @throws UnloadedActException if the act has not been loaded
+	 * @throws IllegalStateException if the single scene mode is disabled
+	 * 
+	 * @see #setSingleScene(boolean)
+	 */
+	public Play setRoot(String name, RootTransition transition) {
+		if( sharedScene == null )
+			throw new IllegalStateException("Roots can only be swapped in single scene mode");
+		
+		if( ! roots.containsKey(name) )
+			throw new UnloadedActException(name);
+		
+		Parent incoming = roots.get(name);
+		Parent outgoing = currentAct == null ? null : roots.get(currentAct);
+		
+		if( prewarmScenes )
+			prewarmNow(sharedScene, incoming);
+		
+		if( ! container.getChildren().contains(incoming) )
+			container.getChildren().add(incoming);
+		
+		if( stage.getScene() != sharedScene )
+			stage.setScene(sharedScene);
+		
+		Animation anim = transition.create(outgoing, incoming);
+		EventHandler <ActionEvent> onFinished = anim.getOnFinished();
+		
+		anim.setOnFinished(e -> {
+			if( onFinished != null )
+				onFinished.handle(e);
+			
+			setScene(name);
+		});
+		anim.play();
+		
+		return this;
+	}
+	
+	/** Pre-warms the scene of an act, or its root in single scene mode */
+	private void prewarmNow(Scene scene, Parent root) {
+		if( sharedScene == null )
+			ScenePrewarmer.prewarm(scene);
+		else
+			ScenePrewarmer.prewarm(root, container);
+	}
 }
@@ -0,0 +1,83 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx;
+
+import java.net.URL;
+import java.time.Duration;
+
+import javafx.scene.Scene;
+
+/**
+ * Listens to the lifecycle of the acts of a {@link Play}. <br>
+ * <br>
+ * All the methods are called on the JavaFX Application Thread and do nothing by default.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see Play#addListener(PlayListener)
+ */
+public interface PlayListener {
+
+	/**
+	 * Called once an act has been loaded, right before {@link #actPrepared(String, Object, Scene)}.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * @param location
+	 * 			The location of the FXML file of the act.
+	 * @param duration
+	 * 			The time elapsed since the preparation of the act has been requested.
+	 */
+	default void actLoaded(String name, URL location, Duration duration) {
+		// does nothing by default
+	}
+
+	/**
+	 * Called once an act has been prepared.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * @param controller
+	 * 			The controller of the act.
+	 * @param scene
+	 * 			The scene associated with the act.
+	 */
+	default void actPrepared(String name, Object controller, Scene scene) {
+		// does nothing by default
+	}
+	
+	/**
+	 * Called once an act has been put on stage.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * @param scene
+	 * 			The scene associated with the act.
+	 */
+	default void actShown(String name, Scene scene) {
+		// does nothing by default
+	}
+	
+	/**
+	 * Called once an act has been freed from memory.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 */
+	default void actRemoved(String name) {
+		// does nothing by default
+	}
+	
+}
@@ -0,0 +1,48 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx;
+
+import javafx.animation.Animation;
+import javafx.scene.Parent;
+
+/**
+ * Creates the animation played when the act on stage is replaced, in single scene mode. <br>
+ * <br>
+ * During the animation, both roots are children of the container shared by all the acts, 
+ * the incoming one being on top of the outgoing one. Once the animation is over, the outgoing 
+ * root is removed from the container. Since acts can be put on stage again, properties animated 
+ * on the outgoing root should be restored by the animation once finished.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see Play#setSingleScene(boolean)
+ * @see Play#setRoot(String, RootTransition)
+ */
+@FunctionalInterface
+public interface RootTransition {
+
+	/**
+	 * Creates the animation of a transition.
+	 * 
+	 * @param outgoing
+	 * 			The root of the act leaving the stage; {@code null} if no act is on stage.
+	 * @param incoming
+	 * 			The root of the act put on stage.
+	 * 
+	 * @return the animation of the transition; not played yet.
+	 */
+	Animation create(Parent outgoing, Parent incoming);
+	
+}
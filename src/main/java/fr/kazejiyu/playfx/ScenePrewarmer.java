@@ -0,0 +1,165 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+
+/**
+ * Applies CSS and computes the layout of scenes before they are put on stage. <br>
+ * <br>
+ * Once pre-warmed, a scene can be attached to a window without having to 
+ * be styled and laid out during the first pulse that follows.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+final class ScenePrewarmer {
+	
+	/** Scenes waiting to be pre-warmed by {@link #prewarmLater(Scene)} */
+	private final Queue <Runnable> steps = new ArrayDeque<>();
+	
+	/** Runs one step per pulse while some are pending */
+	private final AnimationTimer timer = new AnimationTimer() {
+		
+		@Override
+		public void handle(long now) {
+			Runnable step = steps.poll();
+			
+			if( step != null )
+				step.run();
+			
+			if( steps.isEmpty() )
+				stop();
+		}
+	};
+	
+	/**
+	 * Applies CSS and computes the layout of {@code scene} right now. <br>
+	 * <br>
+	 * Must be called on the JavaFX Application Thread.
+	 * 
+	 * @param scene
+	 * 			The scene to pre-warm.
+	 */
+	static void prewarm(Scene scene) {
+		applyCss(scene);
+		layout(scene);
+	}
+	
+	/**
+	 * Applies CSS and computes the layout of {@code root} right now, as a child of {@code container}. <br>
+	 * <br>
+	 * Unless it is already in the container, the root is temporarily added to it, hidden, 
+	 * so that it is styled by the stylesheets of container's scene and sized by the container.
+	 * Must be called on the JavaFX Application Thread.
+	 * 
+	 * @param root
+	 * 			The root to pre-warm.
+	 * @param container
+	 * 			The container in which the root will be put on stage.
+	 */
+	static void prewarm(Parent root, Pane container) {
+		if( root.getParent() == container ) {
+			root.applyCss();
+			container.layout();
+			return;
+		}
+		
+		boolean visible = root.isVisible();
+		
+		root.setVisible(false);
+		container.getChildren().add(root);
+		
+		try {
+			root.applyCss();
+			container.layout();
+			
+		} finally {
+			container.getChildren().remove(root);
+			root.setVisible(visible);
+		}
+	}
+	
+	/**
+	 * Applies CSS and computes the layout of {@code scene} during the next pulses. <br>
+	 * <br>
+	 * The work is split so that each pulse performs at most one pass on one scene: 
+	 * pre-warming several large scenes does not freeze the current one. 
+	 * Must be called on the JavaFX Application Thread.
+	 * 
+	 * @param scene
+	 * 			The scene to pre-warm.
+	 * 
+	 * @return a future completed once the scene has been pre-warmed.
+	 */
+	CompletableFuture <Void> prewarmLater(Scene scene) {
+		CompletableFuture <Void> done = new CompletableFuture<>();
+		
+		steps.add(() -> applyCss(scene));
+		steps.add(() -> {
+			layout(scene);
+			done.complete(null);
+		});
+		timer.start();
+		
+		return done;
+	}
+	
+	/**
+	 * Applies CSS and computes the layout of {@code root}, as a child of {@code container}, 
+	 * during the next pulse. Must be called on the JavaFX Application Thread.
+	 * 
+	 * @param root
+	 * 			The root to pre-warm.
+	 * @param container
+	 * 			The container in which the root will be put on stage.
+	 * 
+	 * @return a future completed once the root has been pre-warmed.
+	 * 
+	 * @see #prewarm(Parent, Pane)
+	 */
+	CompletableFuture <Void> prewarmLater(Parent root, Pane container) {
+		CompletableFuture <Void> done = new CompletableFuture<>();
+		
+		steps.add(() -> {
+			prewarm(root, container);
+			done.complete(null);
+		});
+		timer.start();
+		
+		return done;
+	}
+	
+	private static void applyCss(Scene scene) {
+		scene.getRoot().applyCss();
+	}
+	
+	private static void layout(Scene scene) {
+		Parent root = scene.getRoot();
+		
+		// Scenes that are not on stage yet have not been sized
+		if( root.isResizable() && root.getLayoutBounds().isEmpty() )
+			root.autosize();
+		
+		root.layout();
+	}
+
+}
@@ -0,0 +1,33 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx;
+
+/**
+ * Background work that can be suspended while its act is off-stage, 
+ * such as a polling task or an expensive binding.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see Play#suspendWhenHidden(Object, Suspendable)
+ */
+public interface Suspendable {
+	
+	/** Suspends the work. Called on the JavaFX Application Thread. */
+	void suspend();
+	
+	/** Resumes the work. Called on the JavaFX Application Thread. */
+	void resume();
+
+}
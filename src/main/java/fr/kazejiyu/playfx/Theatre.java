@@ -0,0 +1,326 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import fr.kazejiyu.playfx.concurrent.internal.BackgroundThreads;
+import fr.kazejiyu.playfx.configuration.Converters;
+import fr.kazejiyu.playfx.images.ImageCache;
+import fr.kazejiyu.playfx.injection.internal.InjectedControllerFactory;
+import javafx.stage.Stage;
+
+/**
+ * Shares the loading machinery of several {@link Play}s, typically one per window. <br>
+ * <br>
+ * A theatre owns everything that does not depend on a given stage:
+ * <ul>
+ * 	<li>the factory creating and injecting controllers, with the configuration 
+ * 		files and the injection plans it caches per class,</li>
+ * 	<li>the {@link LoaderConfiguration loader configuration}, with its class and builder caches,</li>
+ * 	<li>the {@link ImageCache images} shared by the acts,</li>
+ * 	<li>the location of the prepared acts and, if {@link #setDocumentCacheSize(int) enabled}, 
+ * 		the content of the FXML files already read.</li>
+ * </ul>
+ * Each play {@link #createPlay(Stage) created} by a theatre is a lightweight view over a stage, 
+ * managing its own acts and scenes. An act prepared by one of the plays can be prepared into 
+ * another one by its name only, without resolving its configuration again. <br>
+ * <br>
+ * This class is thread-safe.
+ * 
+ * <pre>
+ * Theatre theatre = new Theatre(services::lookup);
+ * 
+ * Play main = theatre.createPlay(primaryStage);
+ * main.prepare("orders", OrdersController.class.getResource("orders.fxml"));
+ * 
+ * Play secondary = theatre.createPlay(new Stage());
+ * secondary.prepare("orders");
+ * </pre>
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class Theatre {
+	
+	/** Creates injected controllers */
+	private final InjectedControllerFactory factory;
+	
+	/** Images shared by the acts */
+	private final ImageCache images = new ImageCache();
+	
+	/** Configures the loaders of acts */
+	private final LoaderConfiguration loading = new LoaderConfiguration(images);
+	
+	/** Loads acts in background */
+	private final Executor backgroundExecutor = BackgroundThreads.newExecutor("loader");
+	
+	/** The content of the FXML files recently read, indexed by location, from the least to the most recently used */
+	private final Map <String, byte[]> documents = new LinkedHashMap<>(16, 0.75f, true);
+	
+	/** The maximum number of documents kept in memory; 0 if the files are read each time */
+	private int maxDocuments;
+	
+	/** 
+	 * The location of the acts last prepared by the plays, indexed by act's name; 
+	 * an entry is kept only while a play still holds the act from that location 
+	 */
+	private final Map <String, URL> locations = new ConcurrentHashMap<>();
+	
+	/** The plays created from this theatre */
+	private final Set <Play> plays = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+	
+	/** Creates a new theatre in which no value can be injected into controllers but the ones from configuration files */
+	public Theatre() {
+		this(name -> null);
+	}
+	
+	/**
+	 * Creates a new theatre.
+	 * 
+	 * @param instanciator
+	 * 			Defines the values available to be injected into controllers.
+	 * 			Takes the name of the variable to inject and return its value.
+	 */
+	public Theatre(Function <String,Object> instanciator) {
+		this(instanciator, Converters.defaults());
+	}
+	
+	/**
+	 * Creates a new theatre.
+	 * 
+	 * @param instanciator
+	 * 			Defines the values available to be injected into controllers.
+	 * 			Takes the name of the variable to inject and return its value.
+	 * @param converters
+	 * 			Converts the textual values coming from configuration files and 
+	 * 			command line arguments to the type of the injected fields.
+	 */
+	public Theatre(Function <String,Object> instanciator, Converters converters) {
+		this.factory = new InjectedControllerFactory(instanciator, converters);
+	}
+	
+	/**
+	 * Creates a new play, directed on the given stage, that shares the caches of this theatre.
+	 * 
+	 * @param stage
+	 * 			The stage on which the play is directed. Must not be {@code null}.
+	 * 
+	 * @return a new play
+	 */
+	public Play createPlay(Stage stage) {
+		return new Play(stage, this);
+	}
+	
+	/**
+	 * Keeps the content of the last FXML files read in memory, so that preparing an act 
+	 * again, from any play, does not read its file again. Disabled by default. <br>
+	 * <br>
+	 * Cached files are not read again when they change, unless they are {@link #forget(URL) forgotten}
+	 * or the {@link Play#setHotReload(boolean) hot reload} of the play is enabled.
+	 * 
+	 * @param max
+	 * 			The maximum number of files kept in memory, the least recently used being evicted first. 
+	 * 			0 disables the cache. Must not be negative.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public Theatre setDocumentCacheSize(int max) {
+		if( max < 0 )
+			throw new IllegalArgumentException("The size of the cache must not be negative: " + max);
+		
+		synchronized( documents ) {
+			maxDocuments = max;
+			evictDocuments();
+		}
+		return this;
+	}
+	
+	/** @return the configuration applied to the {@code FXMLLoader}s of the plays */
+	public LoaderConfiguration getLoaderConfiguration() {
+		return loading;
+	}
+	
+	/** @return the images shared by the acts of the plays */
+	public ImageCache getImageCache() {
+		return images;
+	}
+	
+	/**
+	 * Returns the location of the FXML file of an act prepared by any of the plays. <br>
+	 * <br>
+	 * When several plays have prepared an act of the same name from different files, 
+	 * the location is the one of the last act prepared that is still held by a play.
+	 * Isolated acts are not taken into account.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * 
+	 * @return the location of act's FXML file, if a play holds the act
+	 */
+	public Optional <URL> getLocation(String name) {
+		return Optional.ofNullable(locations.get(name));
+	}
+	
+	/**
+	 * Resolves the values injected into each controller concurrently.
+	 * 
+	 * @param executor
+	 * 			Runs the instanciator. If {@code null}, values are resolved one after another.
+	 * @param deadline
+	 * 			The time allowed to resolve all the values of a controller. Must be positive.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 * 
+	 * @see Play#setConcurrentInjection(Executor, Duration)
+	 */
+	public Theatre setConcurrentInjection(Executor executor, Duration deadline) {
+		factory.setConcurrentResolution(executor, deadline);
+		return this;
+	}
+	
+	/**
+	 * Forgets the content of an FXML file, so that it is read again the next time an act is prepared from it.
+	 * 
+	 * @param location
+	 * 			The location of the FXML file.
+	 */
+	public void forget(URL location) {
+		synchronized( documents ) {
+			documents.remove(location.toExternalForm());
+		}
+	}
+	
+	/** Removes the least recently used documents that exceed the size of the cache */
+	private void evictDocuments() {
+		Iterator <byte[]> eldest = documents.values().iterator();
+		
+		for( int excess = documents.size() - maxDocuments ; excess > 0 ; --excess ) {
+			eldest.next();
+			eldest.remove();
+		}
+	}
+	
+	InjectedControllerFactory factory() {
+		return factory;
+	}
+	
+	Executor backgroundExecutor() {
+		return backgroundExecutor;
+	}
+	
+	/** Remembers a play created from this theatre */
+	void opened(Play play) {
+		plays.add(play);
+	}
+	
+	/** Remembers the location of a prepared act */
+	void prepared(String name, URL location) {
+		synchronized( plays ) {
+			locations.put(name, location);
+		}
+	}
+	
+	/** 
+	 * Forgets the location of an act that a play no longer holds. <br>
+	 * <br>
+	 * The location is kept if another play still holds the act from it; otherwise, 
+	 * it is replaced by the location of the act held by any other play, if there is one. 
+	 */
+	void removed(String name) {
+		synchronized( plays ) {
+			URL current = locations.get(name);
+			URL held = null;
+			
+			for( Play play : plays ) {
+				if( play.isIsolated(name) )
+					continue;
+				
+				Optional <URL> location = play.getLocation(name);
+				
+				if( ! location.isPresent() )
+					continue;
+				
+				if( current != null && location.get().toExternalForm().equals(current.toExternalForm()) )
+					return;
+				
+				held = location.get();
+			}
+			
+			if( held == null )
+				locations.remove(name);
+			else
+				locations.put(name, held);
+		}
+	}
+	
+	/** 
+	 * @return the content of the FXML file located at {@code location}, from the cache if enabled
+	 * 
+	 * @throws IOException if the file cannot be read
+	 */
+	byte[] document(URL location) throws IOException {
+		String key = location.toExternalForm();
+		boolean caching;
+		
+		synchronized( documents ) {
+			byte[] cached = documents.get(key);
+			
+			if( cached != null )
+				return cached;
+			
+			caching = maxDocuments > 0;
+		}
+		
+		byte[] document = read(location);
+		
+		if( caching ) {
+			synchronized( documents ) {
+				documents.put(key, document);
+				evictDocuments();
+			}
+		}
+		return document;
+	}
+	
+	/** @return the content of the file located at {@code location} */
+	static byte[] read(URL location) throws IOException {
+		try( InputStream in = location.openStream() ) {
+			ByteArrayOutputStream content = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			
+			for( int read = in.read(buffer) ; read != -1 ; read = in.read(buffer) )
+				content.write(buffer, 0, read);
+			
+			return content.toByteArray();
+		}
+	}
+
+}
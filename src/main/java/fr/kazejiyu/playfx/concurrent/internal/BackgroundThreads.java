@@ -0,0 +1,70 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.concurrent.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors that run PlayFX's blocking background work,
+ * such as loading FXML files or resolving injected values. <br>
+ * <br>
+ * This implementation relies on platform threads. The multi-release jar ships
+ * a Java 21 version that relies on virtual threads instead.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class BackgroundThreads {
+	
+	private BackgroundThreads() {
+		// utility class
+	}
+	
+	/**
+	 * Creates a new executor suited to blocking tasks. <br>
+	 * <br>
+	 * Threads are daemons and are released after one minute of inactivity,
+	 * hence the executor does not have to be shut down.
+	 * 
+	 * @param name
+	 * 			Used to name the threads of the executor.
+	 * 
+	 * @return a new executor suited to blocking tasks.
+	 */
+	public static ExecutorService newExecutor(String name) {
+		return Executors.newCachedThreadPool(new DaemonThreadFactory(name));
+	}
+	
+	/** Creates daemon threads named after the executor they belong to */
+	private static final class DaemonThreadFactory implements ThreadFactory {
+		
+		private final String name;
+		private final AtomicInteger count = new AtomicInteger();
+		
+		private DaemonThreadFactory(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "playfx-" + name + "-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.concurrent.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+/**
+ * Drains work submitted from any thread once per pulse, on the JavaFX Application Thread. <br>
+ * <br>
+ * The drainer only runs while work is pending: {@link #request()} schedules it with a single 
+ * {@link Platform#runLater(Runnable)}, however many times it is called before the next pulse.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class PulseDrainer {
+	
+	/** Work drained once per pulse */
+	public interface Drainable {
+		
+		/**
+		 * Drains pending work. Called once per pulse on the JavaFX Application Thread.
+		 * 
+		 * @param now
+		 * 			The timestamp of the current pulse, in nanoseconds.
+		 */
+		void drain(long now);
+		
+		/** @return whether some work is still pending */
+		boolean isEmpty();
+	}
+	
+	private final Drainable drainable;
+	
+	/** Whether the timer is running, or about to be started */
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	
+	private final AnimationTimer timer = new AnimationTimer() {
+		
+		@Override
+		public void handle(long now) {
+			drainable.drain(now);
+			
+			if( drainable.isEmpty() ) {
+				stop();
+				scheduled.set(false);
+				
+				// Work may have been submitted after the drain but before the flag was reset 
+				if( ! drainable.isEmpty() )
+					request();
+			}
+		}
+	};
+	
+	public PulseDrainer(Drainable drainable) {
+		this.drainable = requireNonNull(drainable);
+	}
+	
+	/** 
+	 * Ensures the pending work will be drained during the next pulses. <br>
+	 * <br>
+	 * Can be called from any thread.
+	 */
+	public void request() {
+		if( scheduled.compareAndSet(false, true) )
+			Platform.runLater(timer::start);
+	}
+
+}
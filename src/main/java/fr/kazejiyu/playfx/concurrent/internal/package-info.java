@@ -0,0 +1,4 @@
+/**
+ * <strong>Internal</strong> classes used to run PlayFX's background work (<u>not API</u>). 
+ */
+package fr.kazejiyu.playfx.concurrent.internal;
\ No newline at end of file
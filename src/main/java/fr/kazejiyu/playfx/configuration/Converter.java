@@ -0,0 +1,41 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.configuration;
+
+/**
+ * Turns the textual value of a property into an instance of a given type.
+ *
+ * @author Emmanuel CHEBBI
+ *
+ * @param <T> The type of the values created by the converter.
+ *
+ * @see Converters
+ */
+@FunctionalInterface
+public interface Converter <T> {
+
+	/**
+	 * Converts a textual value.
+	 *
+	 * @param value
+	 * 			The value to convert. Never {@code null}.
+	 *
+	 * @return the converted value.
+	 *
+	 * @throws IllegalArgumentException if {@code value} cannot be converted.
+	 */
+	T convert(String value);
+
+}
@@ -0,0 +1,275 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.configuration;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry of {@link Converter}s, indexed by the type of the values they create. <br>
+ * <br>
+ * The registry returned by {@link #defaults()} knows how to convert:
+ * <ul>
+ * 	<li>{@code String}s, primitives and their wrappers,</li>
+ * 	<li>enumerations, by the name of their constants,</li>
+ * 	<li>{@link Duration}s, either in ISO-8601 format ({@code PT2S}) or with a unit suffix ({@code 250ms}, {@code 2s}, {@code 5m}, {@code 1h}),</li>
+ * 	<li>{@link Path}s and {@link URL}s,</li>
+ * 	<li>{@link List}s of any of the above, written as comma-separated values.</li>
+ * </ul>
+ *
+ * @author Emmanuel CHEBBI
+ */
+public final class Converters {
+
+	/** Separates the elements of a list */
+	private static final String LIST_SEPARATOR = ",";
+
+	/** Known converters */
+	private final Map <Class<?>, Converter<?>> converters = new ConcurrentHashMap<>();
+
+	/** 
+	 * Converters of enumerations, built on demand. 
+	 * A ClassValue does not prevent the enumerations from being unloaded. 
+	 */
+	private final ClassValue <Converter<?>> enumConverters = new ClassValue<Converter<?>>() {
+		
+		@Override
+		protected Converter <?> computeValue(Class <?> type) {
+			return toEnum(type.asSubclass(Enum.class));
+		}
+	};
+
+	/** 
+	 * Converters of lists, built upon the class of their elements. 
+	 * Replaced when a converter is registered, since the elements may then be converted differently. 
+	 */
+	private volatile ClassValue <Optional<Converter<?>>> listConverters = newListConverters();
+
+	/**
+	 * Creates an empty registry.
+	 *
+	 * @see #defaults()
+	 */
+	public Converters() {
+		super();
+	}
+
+	/**
+	 * Creates a new registry that knows how to convert the most common types.
+	 *
+	 * @return a new registry filled with default converters.
+	 */
+	public static Converters defaults() {
+		Converters defaults = new Converters();
+
+		defaults.register(String.class, value -> value);
+		defaults.register(Object.class, value -> value);
+		defaults.register(boolean.class, Converters::toBoolean);
+		defaults.register(Boolean.class, Converters::toBoolean);
+		defaults.register(char.class, Converters::toChar);
+		defaults.register(Character.class, Converters::toChar);
+		defaults.register(byte.class, value -> Byte.valueOf(value.trim()));
+		defaults.register(Byte.class, value -> Byte.valueOf(value.trim()));
+		defaults.register(short.class, value -> Short.valueOf(value.trim()));
+		defaults.register(Short.class, value -> Short.valueOf(value.trim()));
+		defaults.register(int.class, value -> Integer.valueOf(value.trim()));
+		defaults.register(Integer.class, value -> Integer.valueOf(value.trim()));
+		defaults.register(long.class, value -> Long.valueOf(value.trim()));
+		defaults.register(Long.class, value -> Long.valueOf(value.trim()));
+		defaults.register(float.class, value -> Float.valueOf(value.trim()));
+		defaults.register(Float.class, value -> Float.valueOf(value.trim()));
+		defaults.register(double.class, value -> Double.valueOf(value.trim()));
+		defaults.register(Double.class, value -> Double.valueOf(value.trim()));
+		defaults.register(Duration.class, Converters::toDuration);
+		defaults.register(Path.class, value -> Paths.get(value.trim()));
+		defaults.register(URL.class, Converters::toURL);
+
+		return defaults;
+	}
+
+	/**
+	 * Registers a new converter. <br>
+	 * <br>
+	 * If a converter was already registered for {@code type}, it is replaced.
+	 *
+	 * @param type
+	 * 			The type of the values created by the converter.
+	 * @param converter
+	 * 			The converter to register.
+	 * @param <T>
+	 * 			The type of the values created by the converter.
+	 *
+	 * @return a reference to self, enabling method chaining
+	 *
+	 * @throws NullPointerException if any of the arguments is null
+	 */
+	public <T> Converters register(Class <T> type, Converter <? extends T> converter) {
+		converters.put(requireNonNull(type), requireNonNull(converter));
+		listConverters = newListConverters();
+		return this;
+	}
+
+	/**
+	 * Returns, if any, the converter able to create instances of {@code type}.
+	 *
+	 * @param type
+	 * 			The type of the values to create.
+	 * @param <T>
+	 * 			The type of the values to create.
+	 *
+	 * @return the converter able to create instances of {@code type}, if any.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Optional <Converter<T>> find(Class <T> type) {
+		Converter <?> converter = converters.get(type);
+
+		if( converter == null && type.isEnum() )
+			converter = enumConverters.get(type);
+
+		return Optional.ofNullable((Converter<T>) converter);
+	}
+
+	/**
+	 * Returns, if any, the converter able to create instances of {@code type}. <br>
+	 * <br>
+	 * Unlike {@link #find(Class)}, this method is able to deal with parameterized
+	 * types such as {@code List<Integer>}. Raw lists are considered as lists of {@code String}s.
+	 *
+	 * @param type
+	 * 			The type of the values to create.
+	 *
+	 * @return the converter able to create instances of {@code type}, if any.
+	 */
+	public Optional <Converter<?>> find(Type type) {
+		if( type instanceof Class && ! List.class.equals(type) )
+			return find((Class<?>) type).map(converter -> converter);
+
+		if( List.class.equals(type) )
+			return findListOf(String.class);
+
+		if( type instanceof ParameterizedType ) {
+			ParameterizedType parameterized = (ParameterizedType) type;
+
+			if( List.class.equals(parameterized.getRawType()) )
+				return findListOf(parameterized.getActualTypeArguments()[0]);
+		}
+		return Optional.empty();
+	}
+
+	/** Parameterized elements are not cached: their type arguments may come from any class loader */
+	private Optional <Converter<?>> findListOf(Type elementType) {
+		if( elementType instanceof Class )
+			return listConverters.get((Class<?>) elementType);
+
+		return find(elementType).map(Converters::toList);
+	}
+
+	private ClassValue <Optional<Converter<?>>> newListConverters() {
+		return new ClassValue<Optional<Converter<?>>>() {
+
+			@Override
+			protected Optional <Converter<?>> computeValue(Class <?> elementType) {
+				return find(elementType).map(Converters::toList);
+			}
+		};
+	}
+
+	private static Boolean toBoolean(String value) {
+		String trimmed = value.trim();
+
+		if( "true".equalsIgnoreCase(trimmed) )
+			return Boolean.TRUE;
+
+		if( "false".equalsIgnoreCase(trimmed) )
+			return Boolean.FALSE;
+
+		throw new IllegalArgumentException("Not a boolean: " + value);
+	}
+
+	private static Character toChar(String value) {
+		if( value.length() != 1 )
+			throw new IllegalArgumentException("Not a single character: " + value);
+
+		return value.charAt(0);
+	}
+
+	private static Duration toDuration(String value) {
+		String trimmed = value.trim().toLowerCase(Locale.ROOT);
+
+		try {
+			if( trimmed.startsWith("p") || trimmed.startsWith("-p") )
+				return Duration.parse(trimmed);
+
+			if( trimmed.endsWith("ms") )
+				return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2).trim()));
+
+			long amount = Long.parseLong(trimmed.substring(0, trimmed.length() - 1).trim());
+
+			switch( trimmed.charAt(trimmed.length() - 1) ) {
+			case 's': return Duration.ofSeconds(amount);
+			case 'm': return Duration.ofMinutes(amount);
+			case 'h': return Duration.ofHours(amount);
+			case 'd': return Duration.ofDays(amount);
+			default: throw new IllegalArgumentException("Unknown duration unit: " + value);
+			}
+		} catch(DateTimeParseException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Not a duration: " + value, e);
+		}
+	}
+
+	private static URL toURL(String value) {
+		try {
+			return new URL(value.trim());
+
+		} catch (MalformedURLException e) {
+			throw new IllegalArgumentException("Not an URL: " + value, e);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <E extends Enum<E>> Converter <E> toEnum(Class <? extends Enum> type) {
+		return value -> (E) Enum.valueOf(type, value.trim());
+	}
+
+	private static Converter <List<?>> toList(Converter <?> elementConverter) {
+		return value -> {
+			if( value.trim().isEmpty() )
+				return Collections.emptyList();
+
+			List <Object> elements = new ArrayList<>();
+
+			for( String element : value.split(LIST_SEPARATOR) )
+				elements.add(elementConverter.convert(element.trim()));
+
+			return Collections.unmodifiableList(elements);
+		};
+	}
+
+}
@@ -19,15 +19,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Properties serialized into a file as pairs (key=value).
  * <br><br>
  * This class internally uses instance of the standard {@link Properties} class
- * in order to load the property file.
+ * in order to load the property file. <br>
+ * <br>
+ * The result of the last conversion of each value is cached and returned 
+ * by subsequent look ups made with the same converter. Numeric values can be retrieved without boxing thanks to
+ * {@link #getInt(String, int)}, {@link #getLong(String, long)} and {@link #getDouble(String, double)}.
  * 
  * @author Emmanuel CHEBBI
  */
@@ -39,10 +45,27 @@ public class SerializedProperties {
 	/** The properties loaded from the file */
 	private final Properties properties = new Properties();
 	
+	/** Converts the properties to typed values */
+	private final Converters converters;
+	
+	/** The values of the properties, indexed by their key */
+	private final Map <String, Value> values = new ConcurrentHashMap<>();
+	
 	public SerializedProperties() {
 		this(emptyInputStream());
 	}
 	
+	/**
+	 * Creates empty serialized properties.
+	 * 
+	 * @param converters
+	 * 			Used to convert the properties to typed values.
+	 * 			Must not be {@code null}.
+	 */
+	public SerializedProperties(Converters converters) {
+		this(emptyInputStream(), converters);
+	}
+	
 	private static InputStream emptyInputStream() {
 		return new ByteArrayInputStream("".getBytes());
 	}
@@ -55,7 +78,22 @@ public class SerializedProperties {
 	 * 			Must not be {@code null}.
 	 */
 	public SerializedProperties(InputStream is) {
+		this(is, Converters.defaults());
+	}
+	
+	/**
+	 * Creates a lazy serialized property.
+	 * 
+	 * @param is
+	 * 			The stream from which the properties will be loaded. 
+	 * 			Must not be {@code null}.
+	 * @param converters
+	 * 			Used to convert the properties to typed values.
+	 * 			Must not be {@code null}.
+	 */
+	public SerializedProperties(InputStream is, Converters converters) {
 		this.is = Objects.requireNonNull(is);
+		this.converters = Objects.requireNonNull(converters);
 	}
 	
 	/**
@@ -65,6 +103,9 @@ public class SerializedProperties {
 	 */
 	public void load() throws IOException {
 		properties.load(is);
+		
+		for( String key : properties.stringPropertyNames() )
+			values.put(key, new Value(properties.getProperty(key)));
 	}
 	
 	/**
@@ -86,5 +127,174 @@ public class SerializedProperties {
 	public Optional <Object> get(String key) {
 		return Optional.ofNullable(properties.getProperty(key));
 	}
+	
+	/**
+	 * Returns whether the property identified by {@code key} exists.
+	 * 
+	 * @param key
+	 * 			The name of the property to look up.
+	 * 
+	 * @return {@code true} if the property exists, {@code false} otherwise.
+	 */
+	public boolean contains(String key) {
+		return values.containsKey(key);
+	}
+	
+	/**
+	 * Returns, if present, the property identified by {@code key} converted to {@code type}.
+	 * 
+	 * @param key
+	 * 			The name of the property to look up.
+	 * @param type
+	 * 			The expected type of the property.
+	 * @param <T>
+	 * 			The expected type of the property.
+	 * 
+	 * @return the property's value if it exists.
+	 * 
+	 * @throws IllegalArgumentException if no converter is able to create instances of {@code type}
+	 * 									or if the value cannot be converted.
+	 */
+	public <T> Optional <T> get(String key, Class <T> type) {
+		Converter <T> converter = converters.find(type)
+				.orElseThrow(() -> new IllegalArgumentException("No converter available for " + type));
+		
+		return get(key, converter);
+	}
+	
+	/**
+	 * Returns, if present, the property identified by {@code key} converted with {@code converter}. <br>
+	 * <br>
+	 * The converted value is cached, hence the conversion only happens again
+	 * when the property is looked up with another converter.
+	 * 
+	 * @param key
+	 * 			The name of the property to look up.
+	 * @param converter
+	 * 			Used to convert the property.
+	 * @param <T>
+	 * 			The expected type of the property.
+	 * 
+	 * @return the property's value if it exists.
+	 * 
+	 * @throws IllegalArgumentException if the value cannot be converted.
+	 */
+	public <T> Optional <T> get(String key, Converter <T> converter) {
+		Value value = values.get(key);
+		
+		if( value == null )
+			return Optional.empty();
+		
+		return Optional.ofNullable(value.as(converter));
+	}
+	
+	/**
+	 * Returns the property identified by {@code key} as an {@code int}.
+	 * 
+	 * @param key
+	 * 			The name of the property to look up.
+	 * @param defaultValue
+	 * 			The value to return if the property does not exist.
+	 * 
+	 * @return the property's value if it exists, {@code defaultValue} otherwise.
+	 * 
+	 * @throws IllegalArgumentException if the value is not a valid {@code int}.
+	 */
+	public int getInt(String key, int defaultValue) {
+		Value value = values.get(key);
+		
+		if( value == null )
+			return defaultValue;
+		
+		long asLong = value.asLong();
+		
+		if( asLong < Integer.MIN_VALUE || asLong > Integer.MAX_VALUE )
+			throw new IllegalArgumentException("Not an int: " + value.raw);
+		
+		return (int) asLong;
+	}
+	
+	/**
+	 * Returns the property identified by {@code key} as a {@code long}.
+	 * 
+	 * @param key
+	 * 			The name of the property to look up.
+	 * @param defaultValue
+	 * 			The value to return if the property does not exist.
+	 * 
+	 * @return the property's value if it exists, {@code defaultValue} otherwise.
+	 * 
+	 * @throws IllegalArgumentException if the value is not a valid {@code long}.
+	 */
+	public long getLong(String key, long defaultValue) {
+		Value value = values.get(key);
+		return value == null ? defaultValue : value.asLong();
+	}
+	
+	/**
+	 * Returns the property identified by {@code key} as a {@code double}.
+	 * 
+	 * @param key
+	 * 			The name of the property to look up.
+	 * @param defaultValue
+	 * 			The value to return if the property does not exist.
+	 * 
+	 * @return the property's value if it exists, {@code defaultValue} otherwise.
+	 * 
+	 * @throws IllegalArgumentException if the value is not a valid {@code double}.
+	 */
+	public double getDouble(String key, double defaultValue) {
+		Value value = values.get(key);
+		return value == null ? defaultValue : value.asDouble();
+	}
+	
+	/**
+	 * The value of a property, along with the results of its conversions.
+	 */
+	private static final class Value {
+		
+		/** The value as written in the file */
+		private final String raw;
+		
+		/** The last converter used, along with the value it created; a single one is kept so that converters are not retained */
+		private Converter <?> lastConverter;
+		private Object converted;
+		
+		/** Numeric representations, parsed on demand */
+		private boolean isLongParsed;
+		private long asLong;
+		
+		private boolean isDoubleParsed;
+		private double asDouble;
+		
+		private Value(String raw) {
+			this.raw = raw;
+		}
+		
+		@SuppressWarnings("unchecked")
+		private synchronized <T> T as(Converter <T> converter) {
+			if( lastConverter != converter ) {
+				converted = converter.convert(raw);
+				lastConverter = converter;
+			}
+			return (T) converted;
+		}
+		
+		private synchronized long asLong() {
+			if( ! isLongParsed ) {
+				asLong = Long.parseLong(raw.trim());
+				isLongParsed = true;
+			}
+			return asLong;
+		}
+		
+		private synchronized double asDouble() {
+			if( ! isDoubleParsed ) {
+				asDouble = Double.parseDouble(raw.trim());
+				isDoubleParsed = true;
+			}
+			return asDouble;
+		}
+	}
 
 }
\ No newline at end of file
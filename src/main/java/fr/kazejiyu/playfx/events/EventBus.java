@@ -0,0 +1,216 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.events;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import fr.kazejiyu.playfx.Play;
+import fr.kazejiyu.playfx.concurrent.internal.PulseDrainer;
+
+/**
+ * Delivers events between the acts of a {@link Play}. <br>
+ * <br>
+ * Events can be published from any thread: they are enqueued into a lock-free queue
+ * and delivered by batch, once per pulse, on the JavaFX Application Thread. Hence, 
+ * publishing thousands of events from a background thread only costs a single 
+ * {@link javafx.application.Platform#runLater(Runnable) runLater}. <br>
+ * <br>
+ * Each subscription belongs to an owner, typically the controller of an act, so that 
+ * all the subscriptions of an act are released when the act is {@link Play#removeScene(String) removed}.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class EventBus {
+	
+	/** Stands for the latest event of a conflated topic */
+	private static final Object LATEST = new Object();
+	
+	/** Events waiting to be delivered */
+	private final Queue <Envelope> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pendingCount = new AtomicInteger();
+	
+	/** The latest event published on each conflated topic */
+	private final Map <Topic<?>, Object> latest = new ConcurrentHashMap<>();
+	
+	/** Subscribers, indexed by topic */
+	private final Map <Topic<?>, List<Subscriber<?>>> subscribers = new ConcurrentHashMap<>();
+	
+	/** Ensures pending events are delivered; called each time an event is enqueued */
+	private final Runnable requestDelivery;
+	
+	private static final Logger LOGGER = Logger.getLogger(Play.class.getName());
+	
+	/** Creates a new bus, delivering pending events once per pulse */
+	public EventBus() {
+		PulseDrainer drainer = new PulseDrainer(new PulseDrainer.Drainable() {
+			
+			@Override
+			public void drain(long now) {
+				deliverPendingEvents();
+			}
+			
+			@Override
+			public boolean isEmpty() {
+				return pendingCount.get() == 0;
+			}
+		});
+		this.requestDelivery = drainer::request;
+	}
+	
+	/**
+	 * Creates a new bus whose pending events are delivered by {@link #deliverPendingEvents()}.
+	 * 
+	 * @param requestDelivery
+	 * 			Called each time an event is enqueued.
+	 */
+	EventBus(Runnable requestDelivery) {
+		this.requestDelivery = requireNonNull(requestDelivery);
+	}
+	
+	/**
+	 * Publishes an event. <br>
+	 * <br>
+	 * Can be called from any thread. The event is delivered during the next pulse.
+	 * 
+	 * @param topic
+	 * 			The topic of the event.
+	 * @param event
+	 * 			The event to publish. Must not be {@code null}.
+	 * @param <T>
+	 * 			The type of the event.
+	 */
+	public <T> void publish(Topic <T> topic, T event) {
+		requireNonNull(event);
+		
+		if( ! topic.isConflated() )
+			enqueue(new Envelope(topic, event));
+		
+		else if( latest.put(topic, event) == null )
+			enqueue(new Envelope(topic, LATEST));
+	}
+	
+	/**
+	 * Subscribes to a topic. <br>
+	 * <br>
+	 * The handler is called on the JavaFX Application Thread.
+	 * 
+	 * @param owner
+	 * 			The owner of the subscription, typically the controller of an act.
+	 * @param topic
+	 * 			The topic to subscribe to.
+	 * @param handler
+	 * 			Called with each event published on the topic.
+	 * @param <T>
+	 * 			The type of the events.
+	 * 
+	 * @return the subscription, which can be cancelled.
+	 * 
+	 * @see #unsubscribeAll(Object)
+	 */
+	public <T> Subscription subscribe(Object owner, Topic <T> topic, Consumer <? super T> handler) {
+		Subscriber <T> subscriber = new Subscriber<>(requireNonNull(owner), requireNonNull(handler));
+		List <Subscriber<?>> topicSubscribers = subscribers.computeIfAbsent(requireNonNull(topic), t -> new CopyOnWriteArrayList<>());
+		topicSubscribers.add(subscriber);
+		
+		return () -> topicSubscribers.remove(subscriber);
+	}
+	
+	/**
+	 * Cancels all the subscriptions of an owner.
+	 * 
+	 * @param owner
+	 * 			The owner of the subscriptions.
+	 */
+	public void unsubscribeAll(Object owner) {
+		for( List <Subscriber<?>> topicSubscribers : subscribers.values() )
+			topicSubscribers.removeIf(subscriber -> subscriber.owner == owner);
+	}
+	
+	private void enqueue(Envelope envelope) {
+		pending.offer(envelope);
+		pendingCount.incrementAndGet();
+		requestDelivery.run();
+	}
+	
+	/** Delivers the events published before the beginning of the batch */
+	void deliverPendingEvents() {
+		int batch = pendingCount.get();
+		
+		for( int i = 0 ; i < batch ; ++i ) {
+			Envelope envelope = pending.poll();
+			
+			if( envelope == null )
+				break;
+			
+			pendingCount.decrementAndGet();
+			
+			Object event = envelope.event == LATEST ? latest.remove(envelope.topic) : envelope.event;
+			deliver(envelope.topic, event);
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void deliver(Topic <?> topic, Object event) {
+		List <Subscriber<?>> topicSubscribers = subscribers.get(topic);
+		
+		if( topicSubscribers == null )
+			return;
+		
+		for( Subscriber <?> subscriber : topicSubscribers ) {
+			try {
+				((Consumer<Object>) subscriber.handler).accept(event);
+				
+			} catch(RuntimeException e) {
+				LOGGER.log(Level.SEVERE, "Failed to deliver event {0} on topic {1} : {2}", new Object[] {event, topic, e});
+			}
+		}
+	}
+	
+	/** An event waiting to be delivered */
+	private static final class Envelope {
+		
+		private final Topic <?> topic;
+		private final Object event;
+		
+		private Envelope(Topic <?> topic, Object event) {
+			this.topic = topic;
+			this.event = event;
+		}
+	}
+	
+	/** A handler subscribed to a topic */
+	private static final class Subscriber <T> {
+		
+		private final Object owner;
+		private final Consumer <? super T> handler;
+		
+		private Subscriber(Object owner, Consumer <? super T> handler) {
+			this.owner = owner;
+			this.handler = handler;
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.events;
+
+/**
+ * The subscription of a handler to a {@link Topic}.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see EventBus#subscribe(Object, Topic, java.util.function.Consumer)
+ */
+@FunctionalInterface
+public interface Subscription {
+	
+	/** Stops delivering events to the handler. */
+	void cancel();
+
+}
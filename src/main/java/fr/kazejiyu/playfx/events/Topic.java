@@ -0,0 +1,102 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.events;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Identifies a kind of events published on an {@link EventBus}. <br>
+ * <br>
+ * Topics are compared by identity and are meant to be declared as constants:
+ * 
+ * <pre>
+ * public static final Topic&lt;Order&gt; ORDER_CREATED = Topic.of("order.created", Order.class);
+ * public static final Topic&lt;Price&gt; PRICE = Topic.conflated("price", Price.class);
+ * </pre>
+ * 
+ * @author Emmanuel CHEBBI
+ *
+ * @param <T> The type of the events published on the topic.
+ */
+public final class Topic <T> {
+	
+	private final String name;
+	private final Class <T> type;
+	
+	/** Whether only the latest event matters */
+	private final boolean conflated;
+	
+	private Topic(String name, Class <T> type, boolean conflated) {
+		this.name = requireNonNull(name);
+		this.type = requireNonNull(type);
+		this.conflated = conflated;
+	}
+	
+	/**
+	 * Creates a new topic on which every published event is delivered.
+	 * 
+	 * @param name
+	 * 			The name of the topic.
+	 * @param type
+	 * 			The type of the events published on the topic.
+	 * @param <T>
+	 * 			The type of the events published on the topic.
+	 * 
+	 * @return a new topic.
+	 */
+	public static <T> Topic <T> of(String name, Class <T> type) {
+		return new Topic<>(name, type, false);
+	}
+	
+	/**
+	 * Creates a new conflated topic. <br>
+	 * <br>
+	 * When several events are published on a conflated topic between two pulses, 
+	 * only the latest one is delivered.
+	 * 
+	 * @param name
+	 * 			The name of the topic.
+	 * @param type
+	 * 			The type of the events published on the topic.
+	 * @param <T>
+	 * 			The type of the events published on the topic.
+	 * 
+	 * @return a new conflated topic.
+	 */
+	public static <T> Topic <T> conflated(String name, Class <T> type) {
+		return new Topic<>(name, type, true);
+	}
+	
+	/** @return the name of the topic */
+	public String getName() {
+		return name;
+	}
+	
+	/** @return the type of the events published on the topic */
+	public Class <T> getType() {
+		return type;
+	}
+	
+	/** @return whether only the latest event published between two pulses is delivered */
+	public boolean isConflated() {
+		return conflated;
+	}
+	
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
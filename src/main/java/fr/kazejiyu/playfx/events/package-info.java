@@ -0,0 +1,4 @@
+/**
+ * An event bus making the acts of a {@link fr.kazejiyu.playfx.Play} able to communicate.
+ */
+package fr.kazejiyu.playfx.events;
\ No newline at end of file
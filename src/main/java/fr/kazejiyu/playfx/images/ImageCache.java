@@ -0,0 +1,255 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.images;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import fr.kazejiyu.playfx.concurrent.internal.BackgroundThreads;
+import javafx.scene.image.Image;
+
+/**
+ * Shares decoded {@link Image}s between acts. <br>
+ * <br>
+ * Images are indexed by URL and weighted by the size of their decoded pixels 
+ * (4 bytes per pixel). When the {@link #setBudget(long) budget} is exceeded, 
+ * the least recently used images are evicted. <br>
+ * <br>
+ * Images can be {@link #preload(String) preloaded}: they are then decoded in parallel 
+ * in background threads and a later {@link #get(String)} returns the decoded instance, 
+ * waiting for the decoding to end if necessary. <br>
+ * <br>
+ * The {@code Image}s declared in FXML files are looked up in the cache of the play, 
+ * and preloaded while the act is prepared. The images of {@link fr.kazejiyu.playfx.Play#prepareIsolated(String, String, java.net.URL...) isolated}
+ * acts are not cached, since they may change when their plugin is updated. <br>
+ * <br>
+ * This class is thread-safe.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see fr.kazejiyu.playfx.Play#getImageCache()
+ */
+public final class ImageCache {
+	
+	/** The default budget of a cache, in bytes */
+	public static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+	
+	/** Bytes used by a decoded pixel */
+	private static final int BYTES_PER_PIXEL = 4;
+	
+	/** Decoded images, from the least to the most recently used; guarded by this */
+	private final Map <String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+	
+	/** Images being decoded, indexed by URL */
+	private final Map <String, CompletableFuture<Image>> pending = new ConcurrentHashMap<>();
+	
+	/** Runs the decoding of preloaded images */
+	private final Executor decoder = BackgroundThreads.newExecutor("images");
+	
+	/** Decodes the image located at a given URL */
+	private final Function <String, Image> decode;
+	
+	/** Bytes that can be used by decoded images; guarded by this */
+	private long budget;
+	
+	/** Bytes currently used by decoded images; guarded by this */
+	private long usedBytes;
+	
+	/** Creates a new cache with a {@link #DEFAULT_BUDGET default budget} */
+	public ImageCache() {
+		this(DEFAULT_BUDGET);
+	}
+	
+	/**
+	 * Creates a new cache.
+	 * 
+	 * @param budget
+	 * 			The bytes that can be used by decoded images. Must not be negative.
+	 */
+	public ImageCache(long budget) {
+		this(budget, Image::new);
+	}
+	
+	/**
+	 * Creates a new cache.
+	 * 
+	 * @param budget
+	 * 			The bytes that can be used by decoded images. Must not be negative.
+	 * @param decode
+	 * 			Decodes the image located at a given URL.
+	 */
+	ImageCache(long budget, Function <String, Image> decode) {
+		this.decode = requireNonNull(decode);
+		setBudget(budget);
+	}
+	
+	/** @return the bytes that can be used by decoded images */
+	public synchronized long getBudget() {
+		return budget;
+	}
+	
+	/**
+	 * Sets the bytes that can be used by decoded images. <br>
+	 * <br>
+	 * Least recently used images are evicted until the new budget is met. 
+	 * A budget of 0 disables the cache.
+	 * 
+	 * @param budget
+	 * 			The bytes that can be used by decoded images. Must not be negative.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public synchronized ImageCache setBudget(long budget) {
+		if( budget < 0 )
+			throw new IllegalArgumentException("The budget must not be negative: " + budget);
+		
+		this.budget = budget;
+		evict();
+		return this;
+	}
+	
+	/** @return the bytes currently used by decoded images */
+	public synchronized long getUsedBytes() {
+		return usedBytes;
+	}
+	
+	/** @return the number of images currently cached */
+	public synchronized int size() {
+		return images.size();
+	}
+	
+	/**
+	 * Returns the image located at {@code url}. <br>
+	 * <br>
+	 * If the image is neither cached nor being preloaded, it is decoded in the calling thread.
+	 * 
+	 * @param url
+	 * 			The URL of the image. Must not be {@code null}.
+	 * 
+	 * @return the image located at {@code url}
+	 * 
+	 * @throws IllegalArgumentException if {@code url} is invalid or unsupported.
+	 */
+	public Image get(String url) {
+		Image image = cached(requireNonNull(url));
+		
+		if( image != null )
+			return image;
+		
+		CompletableFuture <Image> decoding = pending.get(url);
+		
+		if( decoding == null )
+			return store(url, decode.apply(url));
+		
+		try {
+			return decoding.join();
+			
+		} catch(CompletionException e) {
+			if( e.getCause() instanceof RuntimeException )
+				throw (RuntimeException) e.getCause();
+			
+			throw e;
+		}
+	}
+	
+	/**
+	 * Decodes the image located at {@code url} in a background thread, unless it is already cached.
+	 * 
+	 * @param url
+	 * 			The URL of the image. Must not be {@code null}.
+	 * 
+	 * @return a future completed with the image once it is decoded, or completed exceptionally
+	 * 		   with an {@link IllegalArgumentException} if {@code url} is invalid or unsupported.
+	 */
+	public CompletableFuture <Image> preload(String url) {
+		Image image = cached(requireNonNull(url));
+		
+		if( image != null )
+			return CompletableFuture.completedFuture(image);
+		
+		CompletableFuture <Image> decoding = new CompletableFuture<>();
+		CompletableFuture <Image> existing = pending.putIfAbsent(url, decoding);
+		
+		if( existing != null )
+			return existing;
+		
+		decoder.execute(() -> {
+			try {
+				decoding.complete(store(url, decode.apply(url)));
+				
+			} catch(RuntimeException e) {
+				decoding.completeExceptionally(e);
+				
+			} finally {
+				pending.remove(url, decoding);
+			}
+		});
+		return decoding;
+	}
+	
+	/** Evicts all the images */
+	public synchronized void clear() {
+		images.clear();
+		usedBytes = 0;
+	}
+	
+	/** @return the image located at {@code url} if it is cached, null otherwise */
+	private synchronized Image cached(String url) {
+		return images.get(url);
+	}
+	
+	/** Caches {@code image} if it has been decoded successfully and fits in the budget */
+	private synchronized Image store(String url, Image image) {
+		if( image.isError() )
+			return image;
+		
+		long weight = weightOf(image);
+		
+		if( weight > budget )
+			return image;
+		
+		Image previous = images.put(url, image);
+		
+		if( previous != null )
+			usedBytes -= weightOf(previous);
+		
+		usedBytes += weight;
+		evict();
+		return image;
+	}
+	
+	/** Evicts the least recently used images until the budget is met */
+	private void evict() {
+		Iterator <Image> eldest = images.values().iterator();
+		
+		while( usedBytes > budget && eldest.hasNext() ) {
+			usedBytes -= weightOf(eldest.next());
+			eldest.remove();
+		}
+	}
+	
+	private static long weightOf(Image image) {
+		return (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL;
+	}
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Classes used to decode images in background and share them between acts.
+ */
+package fr.kazejiyu.playfx.images;
\ No newline at end of file
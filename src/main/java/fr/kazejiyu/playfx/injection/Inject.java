@@ -14,7 +14,9 @@
  */
 package fr.kazejiyu.playfx.injection;
 
+import static java.lang.annotation.ElementType.CONSTRUCTOR;
 import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.PARAMETER;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 import java.lang.annotation.Documented;
@@ -22,13 +24,16 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
 /**
- * Appoints a field to inject.
+ * Appoints a field to inject, or the constructor used to create a controller. <br>
+ * <br>
+ * The parameters of an injected constructor are resolved like fields, by their name. 
+ * Parameters can be annotated to specify the name of the value to inject.
  * 
  * @author Emmanuel CHEBBI
  */
 @Documented
 @Retention(RUNTIME)
-@Target(FIELD)
+@Target({ FIELD, CONSTRUCTOR, PARAMETER })
 public @interface Inject {
 	String name() default "";
 }
@@ -0,0 +1,169 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.injection.internal;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Parameter;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import fr.kazejiyu.playfx.configuration.Converters;
+import fr.kazejiyu.playfx.injection.Inject;
+
+/**
+ * How to create the instances of a controller class. <br>
+ * <br>
+ * Controllers are created either with their constructor annotated with {@link Inject @Inject}, 
+ * or with their default constructor. The constructor is turned into a {@link MethodHandle} and 
+ * its parameters are resolved once per class, so that creating an instance only costs 
+ * the resolution of the arguments and a direct call. <br>
+ * <br>
+ * The name of the value injected into a parameter is given by its {@code @Inject} annotation 
+ * or, if the class has been compiled with {@code -parameters}, by the name of the parameter.
+ *
+ * @author Emmanuel CHEBBI
+ */
+final class ConstructorPlan {
+	
+	/** Creates an instance from an array of arguments; null if the class cannot be instantiated */
+	private final MethodHandle constructor;
+	
+	/** The parameters of the constructor */
+	private final List <ParameterPoint> parameters;
+	
+	/** Why the class cannot be instantiated, a NoSuchMethodException or an IllegalAccessException; null if it can */
+	private final ReflectiveOperationException failure;
+	
+	ConstructorPlan(Class <?> clazz, Converters converters) {
+		MethodHandle handle = null;
+		List <ParameterPoint> points = Collections.emptyList();
+		ReflectiveOperationException error = null;
+		
+		try {
+			Constructor <?> injected = injectedConstructorOf(clazz);
+			points = parametersOf(injected, converters);
+			
+			AccessController.doPrivileged((PrivilegedAction<?>) () -> {
+				injected.setAccessible(true);
+				return null;
+			});
+			
+			handle = MethodHandles.lookup()
+								  .unreflectConstructor(injected)
+								  .asSpreader(Object[].class, points.size())
+								  .asType(methodType(Object.class, Object[].class));
+			
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			error = e;
+		}
+		
+		this.constructor = handle;
+		this.parameters = points;
+		this.failure = error;
+	}
+	
+	/** @return the parameters of the constructor, whose values must be resolved */
+	List <ParameterPoint> parameters() {
+		return parameters;
+	}
+	
+	/**
+	 * Creates a new instance.
+	 * 
+	 * @param arguments
+	 * 			The values of the {@link #parameters() parameters} of the constructor.
+	 * 
+	 * @return a new instance of the class
+	 * 
+	 * @throws NoSuchMethodException if the class has no suitable constructor
+	 * @throws IllegalAccessException if the constructor cannot be accessed
+	 * @throws IllegalArgumentException if an argument does not match the type of its parameter
+	 * @throws InvocationTargetException if the constructor throws an exception
+	 */
+	Object newInstance(Object[] arguments) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+		if( failure instanceof IllegalAccessException )
+			throw (IllegalAccessException) failure;
+		
+		if( failure != null )
+			throw (NoSuchMethodException) failure;
+		
+		checkArguments(arguments);
+		
+		try {
+			return (Object) constructor.invokeExact(arguments);
+			
+		} catch (Error e) {
+			throw e;
+			
+		} catch (Throwable e) {
+			// the arguments have been checked: the exception comes from the constructor
+			throw new InvocationTargetException(e);
+		}
+	}
+	
+	/** @throws IllegalArgumentException if the arguments cannot be given to the constructor */
+	private void checkArguments(Object[] arguments) {
+		if( arguments.length != parameters.size() )
+			throw new IllegalArgumentException("Expected " + parameters.size() + " arguments, got " + arguments.length);
+		
+		for( int i = 0 ; i < arguments.length ; ++i ) {
+			if( ! parameters.get(i).accepts(arguments[i]) )
+				throw new IllegalArgumentException("Cannot give " + arguments[i] + " to " + parameters.get(i));
+		}
+	}
+	
+	/** @return the constructor annotated with {@code @Inject}, or the default one if none is */
+	private static Constructor <?> injectedConstructorOf(Class <?> clazz) throws NoSuchMethodException {
+		Constructor <?> injected = null;
+		
+		for( Constructor <?> constructor : clazz.getDeclaredConstructors() ) {
+			if( ! constructor.isAnnotationPresent(Inject.class) )
+				continue;
+			
+			if( injected != null )
+				throw new NoSuchMethodException("Several constructors of " + clazz.getName() + " are annotated with @Inject");
+			
+			injected = constructor;
+		}
+		
+		return injected != null ? injected : clazz.getDeclaredConstructor();
+	}
+	
+	private static List <ParameterPoint> parametersOf(Constructor <?> constructor, Converters converters) throws NoSuchMethodException {
+		List <ParameterPoint> points = new ArrayList<>();
+		
+		for( Parameter parameter : constructor.getParameters() ) {
+			Inject inject = parameter.getAnnotation(Inject.class);
+			String name = inject == null ? "" : inject.name();
+			
+			if( name.isEmpty() && ! parameter.isNamePresent() )
+				throw new NoSuchMethodException("The name of " + parameter + " of " + constructor + " is unknown: "
+											  + "annotate it with @Inject(name = \"...\") or compile with -parameters");
+			
+			points.add(new ParameterPoint(parameter, name.isEmpty() ? parameter.getName() : name, converters));
+		}
+		
+		return Collections.unmodifiableList(points);
+	}
+
+}
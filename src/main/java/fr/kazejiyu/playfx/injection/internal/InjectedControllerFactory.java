@@ -19,11 +19,15 @@ import static java.util.Objects.requireNonNull;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import fr.kazejiyu.playfx.Play;
+import fr.kazejiyu.playfx.configuration.Converters;
 import fr.kazejiyu.playfx.configuration.SerializedProperties;
 import javafx.fxml.FXMLLoader;
 import javafx.util.Callback;
@@ -43,37 +47,92 @@ public class InjectedControllerFactory implements Callback<Class<?>, Object> {
 	/** Creates instances upon fields' name */
 	private final Function<String, Object> instanciator;
 	
+	/** Converts configuration values to fields' type */
+	private final Converters converters;
+	
+	/** 
+	 * Controllers' configuration, loaded once per class. 
+	 * A ClassValue does not prevent controllers' classes from being unloaded. 
+	 */
+	private final ClassValue <SerializedProperties> configurations = new ClassValue<SerializedProperties>() {
+		
+		@Override
+		protected SerializedProperties computeValue(Class <?> controller) {
+			return loadPropertiesFor(controller);
+		}
+	};
+	
 	private static final Logger LOGGER = Logger.getLogger(Play.class.getName());
 	
 	public InjectedControllerFactory(Function <String,Object> instanciator) {
+		this(instanciator, Converters.defaults());
+	}
+	
+	public InjectedControllerFactory(Function <String,Object> instanciator, Converters converters) {
 		this.instanciator = requireNonNull(instanciator);
-		this.injector = new Injector(this.instanciator);
+		this.converters = requireNonNull(converters);
+		this.injector = new Injector(this.instanciator, this.converters);
+	}
+
+	/**
+	 * Resolves the values injected into each controller concurrently.
+	 * 
+	 * @param executor
+	 * 			Runs the instanciator. If {@code null}, values are resolved one after another in the loading thread.
+	 * @param timeout
+	 * 			The time allowed to resolve all the values of a controller. Must be positive.
+	 */
+	public void setConcurrentResolution(Executor executor, Duration timeout) {
+		injector.setConcurrentResolution(executor, requireNonNull(timeout));
 	}
 
 	@Override
 	public Object call(Class<?> clazz) {
 		try {
-			Object instance = clazz.getDeclaredConstructor().newInstance();
-			SerializedProperties properties = loadPropertiesFor(clazz);
-			
-			return injector.injectFields(instance, properties);
+			SerializedProperties properties = configurations.get(clazz);
+			return injector.create(clazz, properties);
 			
 		} catch (NoSuchMethodException | IllegalAccessException | SecurityException e) {
-			LOGGER.log(Level.SEVERE, "Cannot access default constructor of {0} : {1}", new Object[] {clazz, e});
-		} catch (IllegalArgumentException | InvocationTargetException | InstantiationException e) {
-			LOGGER.log(Level.SEVERE, "Failed to inject instance of {0} : {1}", new Object[] {clazz, e});
+			LOGGER.log(Level.SEVERE, "Cannot access the constructor of {0} : {1}", new Object[] {clazz, e});
+		} catch (InvocationTargetException e) {
+			LOGGER.log(Level.SEVERE, "The constructor of {0} failed : {1}", new Object[] {clazz, e.getCause()});
+		} catch (IllegalArgumentException e) {
+			LOGGER.log(Level.SEVERE, "An argument of the constructor of {0} does not match its parameter : {1}", new Object[] {clazz, e.getMessage()});
 		}
 
 		return null;
 	}
 	
+	/**
+	 * Returns the location of the configuration file of a controller.
+	 * 
+	 * @param controller
+	 * 			The class of the controller.
+	 * 
+	 * @return the location of controller's configuration file, or {@code null} if there is none
+	 */
+	public URL configurationOf(Class <?> controller) {
+		return controller.getResource(CONFIG_FILE);
+	}
+	
+	/**
+	 * Forgets the configuration loaded for a controller, so that it is loaded again
+	 * the next time the controller is instantiated.
+	 * 
+	 * @param controller
+	 * 			The class of the controller.
+	 */
+	public void invalidate(Class <?> controller) {
+		configurations.remove(controller);
+	}
+	
 	/** @return the properties stored in controller's config file */
 	private SerializedProperties loadPropertiesFor(Class <?> controller) {
-		SerializedProperties prop = new SerializedProperties();
+		SerializedProperties prop = new SerializedProperties(converters);
 		
 		try( InputStream is = controller.getResourceAsStream(CONFIG_FILE) ) {
 			if( is != null ) {
-				prop = new SerializedProperties(is);
+				prop = new SerializedProperties(is, converters);
 				prop.load();
 			}
 			
@@ -0,0 +1,126 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.injection.internal;
+
+import java.lang.reflect.Field;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+import fr.kazejiyu.playfx.configuration.Converter;
+import fr.kazejiyu.playfx.configuration.Converters;
+import fr.kazejiyu.playfx.configuration.SerializedProperties;
+import fr.kazejiyu.playfx.injection.Inject;
+
+/**
+ * A field annotated with {@link Inject @Inject}, along with everything required to inject it. <br>
+ * <br>
+ * Injection points are computed once per class so that the name of the value to inject,
+ * the converter to use and the accessibility of the field do not have to be resolved
+ * each time an instance is injected.
+ *
+ * @author Emmanuel CHEBBI
+ */
+final class InjectionPoint {
+
+	/** The field to inject */
+	private final Field field;
+
+	/** The name of the value to inject */
+	private final String name;
+
+	/** Converts textual values to field's type; null if no converter is available */
+	private final Converter <?> converter;
+
+	InjectionPoint(Field field, Converters converters) {
+		Inject inject = field.getAnnotation(Inject.class);
+
+		this.field = field;
+		this.name = inject.name().isEmpty() ? field.getName() : inject.name();
+		this.converter = converters.find(field.getGenericType()).orElse(null);
+
+		AccessController.doPrivileged((PrivilegedAction<?>) () -> {
+			field.setAccessible(true);
+			return null;
+		});
+	}
+
+	/** @return the field to inject */
+	Field field() {
+		return field;
+	}
+
+	/** @return the name of the value to inject */
+	String name() {
+		return name;
+	}
+
+	/**
+	 * Injects the field with the value stored in {@code properties}. <br>
+	 * <br>
+	 * Primitive numeric fields are read and written without boxing.
+	 *
+	 * @return whether the field has been injected
+	 *
+	 * @throws IllegalArgumentException if the value cannot be converted to field's type
+	 * @throws IllegalAccessException if the field cannot be written
+	 */
+	boolean injectFrom(Object instance, SerializedProperties properties) throws IllegalAccessException {
+		if( ! properties.contains(name) )
+			return false;
+
+		Class <?> type = field.getType();
+
+		if( type == int.class )
+			field.setInt(instance, properties.getInt(name, 0));
+
+		else if( type == long.class )
+			field.setLong(instance, properties.getLong(name, 0L));
+
+		else if( type == double.class )
+			field.setDouble(instance, properties.getDouble(name, 0.0));
+
+		else if( converter != null )
+			return inject(instance, properties.get(name, converter).orElse(null));
+
+		else
+			return inject(instance, properties.get(name).orElse(null));
+
+		return true;
+	}
+
+	/**
+	 * Injects the field with {@code value}, converting it first if it is a {@code String}
+	 * that does not match field's type.
+	 *
+	 * @return whether the field has been injected
+	 *
+	 * @throws IllegalArgumentException if the value cannot be converted to field's type
+	 * @throws IllegalAccessException if the field cannot be written
+	 */
+	boolean inject(Object instance, Object value) throws IllegalAccessException {
+		// Injecting null would erase possible default values
+		if( value == null )
+			return false;
+
+		Object converted = value;
+
+		if( value instanceof String && converter != null && ! field.getType().isInstance(value) )
+			converted = converter.convert((String) value);
+
+		field.set(instance, converted);
+		return true;
+	}
+
+}
@@ -15,19 +15,34 @@
 package fr.kazejiyu.playfx.injection.internal;
 
 import java.lang.reflect.Field;
-import java.security.AccessController;
-import java.security.PrivilegedAction;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import fr.kazejiyu.playfx.Play;
+import fr.kazejiyu.playfx.configuration.Converters;
 import fr.kazejiyu.playfx.configuration.SerializedProperties;
 import fr.kazejiyu.playfx.injection.Inject;
 
 /**
- * Injects fields annotated with {@link Inject}.
+ * Creates controllers through their {@link Inject @Inject} constructor and injects their fields annotated with {@link Inject}. <br>
+ * <br>
+ * The values given by the instanciator can be {@link #setConcurrentResolution(Executor, Duration) resolved concurrently},
+ * which is handy when the instanciator blocks on I/O.
  * 
  * @author Emmanuel CHEBBI 
  */
@@ -36,100 +51,347 @@ class Injector {
 	/** Creates instances upon fields' name */
 	private final Function<String, Object> instanciator;
 	
+	/** Converts textual values to fields' type */
+	private final Converters converters;
+	
+	/** 
+	 * The fields to inject, computed once per class. 
+	 * A ClassValue does not prevent controllers' classes from being unloaded. 
+	 */
+	private final ClassValue <List<InjectionPoint>> injectionPoints = new ClassValue<List<InjectionPoint>>() {
+		
+		@Override
+		protected List <InjectionPoint> computeValue(Class <?> clazz) {
+			return findInjectionPoints(clazz);
+		}
+	};
+	
+	/** 
+	 * How to create the instances of each class, computed once per class. 
+	 * A ClassValue does not prevent controllers' classes from being unloaded. 
+	 */
+	private final ClassValue <ConstructorPlan> constructorPlans = new ClassValue<ConstructorPlan>() {
+		
+		@Override
+		protected ConstructorPlan computeValue(Class <?> clazz) {
+			return new ConstructorPlan(clazz, converters);
+		}
+	};
+	
+	/** Resolves the values given by the instanciator; null if they are resolved sequentially */
+	private volatile Executor executor;
+	
+	/** The time allowed to resolve the values of an instance, in nanoseconds */
+	private volatile long timeout = Long.MAX_VALUE;
+	
+	/** Stands for the values that have not been resolved in time */
+	private static final Object TIMED_OUT = new Object();
+	
 	private static final Logger LOGGER = Logger.getLogger(Play.class.getName());
 
 	protected Injector(Function <String,Object> instanciator) {
+		this(instanciator, Converters.defaults());
+	}
+
+	protected Injector(Function <String,Object> instanciator, Converters converters) {
 		this.instanciator = instanciator;
+		this.converters = converters;
 	}
 	
 	/**
-	 * Injects {@code instance}'s fields that are annotated with {@link Inject @Inject}. <br>
+	 * Resolves the values given by the instanciator concurrently. <br>
 	 * <br>
-	 * This method attempts, in order, to inject a field with a value taken from:
+	 * When enabled, the values of all the parameters and fields of an instance that are neither 
+	 * found in its properties nor in system properties are requested to the instanciator at the 
+	 * same time, through {@code executor}, in a single batch. The instance is created, then its 
+	 * fields are written, once all the values have arrived. The fields whose value from the 
+	 * properties cannot be converted are requested afterwards, within the same deadline. The values that do not arrive before 
+	 * the deadline are reported as missing and not injected. The instanciator is not interrupted: 
+	 * the values that arrive late are discarded.
+	 * 
+	 * @param executor
+	 * 			Runs the instanciator. If {@code null}, values are resolved one after another in the calling thread.
+	 * @param timeout
+	 * 			The time allowed to resolve all the values of an instance. Must be positive.
+	 */
+	protected void setConcurrentResolution(Executor executor, Duration timeout) {
+		if( timeout.isNegative() || timeout.isZero() )
+			throw new IllegalArgumentException("The timeout must be positive: " + timeout);
+		
+		this.timeout = timeout.toNanos();
+		this.executor = executor;
+	}
+	
+	/**
+	 * Creates a new instance of {@code clazz}, then injects its fields. <br>
+	 * <br>
+	 * The instance is created by the constructor annotated with {@link Inject @Inject} or, 
+	 * if there is none, by the default constructor. The values of the parameters of the constructor
+	 * and of the fields annotated with {@link Inject @Inject} are taken, in order, from:
 	 * <ol>
 	 * 	<li>given {@code properties} (typically extracted from controller's conf file),</li>
 	 * 	<li>system properties (correspond to command line arguments)</li>
 	 * 	<li>the instanciator given to the instance's constructor.</li>
 	 * </ol>
 	 * 
-	 * If a field cannot be injected successfully, a warning is printed on {@link Play}'s logger.
+	 * The values missing from the properties are asked to the instanciator all together, before 
+	 * the instance is created. The values of the properties that cannot be converted are asked 
+	 * to the instanciator as well: before the instance is created for the parameters, 
+	 * once its fields are being written for the fields. Textual values are converted to the type of the parameter or field 
+	 * thanks to the {@link Converters} given to the constructor. Values coming from {@code properties} 
+	 * are only converted once. <br>
+	 * <br>
+	 * If a value cannot be resolved, a warning is printed on {@link Play}'s logger: {@code null}
+	 * (or zero) is given to the parameter, and the field is left untouched.
+	 * 
+	 * @param clazz
+	 * 			The class to instantiate.
+	 * @param properties
+	 * 			Controller's properties.
+	 * 
+	 * @return a new instance of {@code clazz}, which fields have been injected
+	 * 
+	 * @throws NoSuchMethodException if the class has no suitable constructor
+	 * @throws IllegalAccessException if the constructor cannot be accessed
+	 * @throws InvocationTargetException if the constructor fails
+	 * @throws IllegalArgumentException if a value does not match the type of its parameter
+	 */
+	protected Object create(Class <?> clazz, SerializedProperties properties) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+		ConstructorPlan plan = constructorPlans.get(clazz);
+		List <ParameterPoint> parameters = plan.parameters();
+		Object[] arguments = new Object[parameters.size()];
+		
+		List <Integer> unresolvedParameters = new ArrayList<>();
+		List <InjectionPoint> unresolvedFields = new ArrayList<>();
+		List <String> names = new ArrayList<>();
+		
+		for( int i = 0 ; i < arguments.length ; ++i ) {
+			arguments[i] = resolveLocally(parameters.get(i), properties);
+			
+			if( arguments[i] == null ) {
+				unresolvedParameters.add(i);
+				names.add(parameters.get(i).name());
+			}
+		}
+		
+		for( InjectionPoint point : injectionPointsOf(clazz) ) {
+			if( ! properties.contains(point.name()) && System.getProperty(point.name()) == null ) {
+				unresolvedFields.add(point);
+				names.add(point.name());
+			}
+		}
+		
+		long deadline = deadline();
+		Object[] values = instanciateAll(names, deadline);
+		
+		for( int j = 0 ; j < unresolvedParameters.size() ; ++j ) {
+			int i = unresolvedParameters.get(j);
+			ParameterPoint parameter = parameters.get(i);
+			
+			if( values[j] == TIMED_OUT ) {
+				LOGGER.log(Level.WARNING, "Unable to inject the parameter : {0} (no value after {1} ms)", new Object[] {parameter, timeoutInMillis()});
+				arguments[i] = parameter.defaultValue();
+				continue;
+			}
+			
+			arguments[i] = convert(parameter, values[j]);
+			
+			if( arguments[i] == null ) {
+				LOGGER.log(Level.WARNING, "Unable to inject the parameter : {0}", parameter);
+				arguments[i] = parameter.defaultValue();
+			}
+		}
+		
+		Object instance = plan.newInstance(arguments);
+		
+		Map <InjectionPoint, Object> fieldValues = new IdentityHashMap<>();
+		
+		for( int j = 0 ; j < unresolvedFields.size() ; ++j )
+			fieldValues.put(unresolvedFields.get(j), values[unresolvedParameters.size() + j]);
+		
+		return injectFields(instance, properties, fieldValues, deadline);
+	}
+	
+	/** @return the value of {@code parameter} found in {@code properties} or in system properties; null if none */
+	private static Object resolveLocally(ParameterPoint parameter, SerializedProperties properties) {
+		Object value = null;
+		
+		try {
+			value = parameter.resolveFrom(properties);
+			
+		} catch (IllegalArgumentException e) {
+			LOGGER.log(Level.SEVERE, "Failed to inject parameter {0} with : {1}.\nException is ", new Object[] {parameter, properties.get(parameter.name()).orElse(null), e});
+		}
+		
+		if( value == null )
+			value = convert(parameter, System.getProperty(parameter.name()));
+		
+		return value;
+	}
+	
+	private static Object convert(ParameterPoint parameter, Object value) {
+		try {
+			return parameter.convert(value);
+			
+		} catch (IllegalArgumentException e) {
+			LOGGER.log(Level.SEVERE, "Failed to inject parameter {0} with : {1}.\nException is ", new Object[] {parameter, value, e});
+			return null;
+		}
+	}
+	
+	/**
+	 * Injects {@code instance}'s fields that are annotated with {@link Inject @Inject}.
 	 * 
 	 * @param instance
 	 * 			The instance to inject.
 	 * @param properties
 	 * 			Controller's properties. 
+	 * @param requested
+	 * 			The values given by the instanciator, indexed by the field they are meant to.
+	 * @param deadline
+	 * 			When the values still asked to the instanciator must be resolved, as given by {@link System#nanoTime()}.
 	 * @param <T>
 	 * 			Runtime type of {@code instance}.
 	 * 
 	 * @return given {@code instance} which fields have been injected.
 	 * 
-	 * @throws NullPointerException if any of the arguments is null
+	 * @see #create(Class, SerializedProperties)
 	 */
-	protected <T extends Object> T injectFields(final T instance, final SerializedProperties properties) {
-		Class <?> clazz = instance.getClass();
-		
-		for( final Field field : clazz.getDeclaredFields() ) {
-			if( field.isAnnotationPresent(Inject.class) ) {
-				boolean injectionSucceeded = tryToInjectFieldWithConfigurationFile(instance, field, properties);
-
-				if( ! injectionSucceeded )
-					injectionSucceeded = tryToInjectFieldWithProperties(instance, field);
+	private <T extends Object> T injectFields(final T instance, final SerializedProperties properties, Map <InjectionPoint, Object> requested, long deadline) {
+		for( final InjectionPoint point : injectionPointsOf(instance.getClass()) ) {
+			if( requested.containsKey(point) ) {
+				Object value = requested.get(point);
 				
-				if( ! injectionSucceeded )
-					injectionSucceeded = tryToInjectFieldWithInstanciator(instance, field);
+				if( value == TIMED_OUT )
+					LOGGER.log(Level.WARNING, "Unable to inject the field : {0} (no value after {1} ms)", new Object[] {point.field(), timeoutInMillis()});
 				
-				if( ! injectionSucceeded )
-					LOGGER.log(Level.WARNING, "Unable to inject the field : {0}", field);
+				else if( ! tryToInject(instance, point, value) )
+					LOGGER.log(Level.WARNING, "Unable to inject the field : {0}", point.field());
+				
+				continue;
 			}
+			
+			boolean injectionSucceeded = tryToInjectFieldWithConfigurationFile(instance, point, properties);
+
+			if( ! injectionSucceeded )
+				injectionSucceeded = tryToInjectFieldWithProperties(instance, point);
+			
+			// the value from the properties could not be converted
+			if( ! injectionSucceeded )
+				injectionSucceeded = tryToInjectFieldWithInstanciator(instance, point, deadline);
+			
+			if( ! injectionSucceeded )
+				LOGGER.log(Level.WARNING, "Unable to inject the field : {0}", point.field());
 		}
 		
 		return instance;
 	}
 	
-	private boolean tryToInjectFieldWithConfigurationFile(Object instance, Field field, SerializedProperties properties) {
-		return tryToInject(instance, field, name -> properties.get(name).orElse(null));
+	/**
+	 * Asks the instanciator for several values, concurrently if {@link #setConcurrentResolution(Executor, Duration) enabled}.
+	 * 
+	 * @return the values given by the instanciator, in the same order as {@code names}; 
+	 * 		   {@link #TIMED_OUT} for the ones that have not been resolved before {@code deadline}
+	 */
+	private Object[] instanciateAll(List <String> names, long deadline) {
+		Object[] values = new Object[names.size()];
+		Executor resolver = executor;
+		
+		if( resolver == null ) {
+			for( int i = 0 ; i < values.length ; ++i )
+				values[i] = instanciator.apply(names.get(i));
+			
+			return values;
+		}
+		
+		List <CompletableFuture<Object>> futures = new ArrayList<>(names.size());
+		
+		for( String name : names )
+			futures.add(CompletableFuture.supplyAsync(() -> instanciator.apply(name), resolver));
+		
+		try {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+							 .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			
+		} catch (TimeoutException | ExecutionException e) {
+			// handled value by value
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		for( int i = 0 ; i < values.length ; ++i ) {
+			CompletableFuture <Object> future = futures.get(i);
+			
+			if( ! future.isDone() ) {
+				// does not interrupt the instanciator: the value is discarded once it arrives
+				future.cancel(false);
+				values[i] = TIMED_OUT;
+				continue;
+			}
+			
+			try {
+				values[i] = future.join();
+				
+			} catch (CompletionException | CancellationException e) {
+				LOGGER.log(Level.SEVERE, "Failed to resolve the value \"{0}\" : {1}", new Object[] {names.get(i), e.getCause()});
+			}
+		}
+		
+		return values;
 	}
 	
-	private boolean tryToInjectFieldWithProperties(Object instance, Field field) {
-		return tryToInject(instance, field, System::getProperty);
+	/** @return when the resolution of the values of an instance created now must be over */
+	private long deadline() {
+		// May overflow, but only differences with System.nanoTime() are used
+		return System.nanoTime() + timeout;
 	}
-
-	private boolean tryToInjectFieldWithInstanciator(Object instance, Field field) {
-		return tryToInject(instance, field, instanciator);
+	
+	private long timeoutInMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(timeout);
+	}
+	
+	/** @return the fields of {@code clazz} that must be injected */
+	private List <InjectionPoint> injectionPointsOf(Class <?> clazz) {
+		return injectionPoints.get(clazz);
 	}
 	
-	private boolean tryToInject(Object instance, Field field, Function <String,Object> valueToInject) {
-		Inject inject = field.getAnnotation(Inject.class);
-		String name = inject.name().isEmpty() ? field.getName() : inject.name();
+	private List <InjectionPoint> findInjectionPoints(Class <?> clazz) {
+		List <InjectionPoint> points = new ArrayList<>();
 		
-		Object value = valueToInject.apply(name);
+		for( final Field field : clazz.getDeclaredFields() ) {
+			if( field.isAnnotationPresent(Inject.class) )
+				points.add(new InjectionPoint(field, converters));
+		}
 		
-		// Injecting null would erase possible default values
-		if( value == null )
+		return Collections.unmodifiableList(points);
+	}
+	
+	private boolean tryToInjectFieldWithConfigurationFile(Object instance, InjectionPoint point, SerializedProperties properties) {
+		try {
+			return point.injectFrom(instance, properties);
+			
+		} catch (SecurityException | IllegalArgumentException | IllegalAccessException e) {
+			LOGGER.log(Level.SEVERE, "Failed to inject field {0} with : {1}.\nException is ", new Object[] {point.field(), properties.get(point.name()).orElse(null), e});
 			return false;
-		
-		return injectField(instance, field, value);		
+		}
 	}
 	
-	private boolean injectField(final Object instance, final Field field, Object value) {
-		final AtomicBoolean injectionSucceeded = new AtomicBoolean(true);
-		
-		AccessController.doPrivileged((PrivilegedAction<?>) () -> {
-			boolean isAccessible = field.isAccessible();
-				
-			try {
-				field.setAccessible(true);
-				field.set(instance, value);
-			} catch (SecurityException | IllegalArgumentException | IllegalAccessException e) {
-				LOGGER.log(Level.SEVERE, "Failed to inject field {0} with : {1}.\nException is ", new Object[] {field, value, e});
-				injectionSucceeded.set(false);
-			} finally {
-				field.setAccessible(isAccessible);
-			}
+	private boolean tryToInjectFieldWithProperties(Object instance, InjectionPoint point) {
+		return tryToInject(instance, point, System.getProperty(point.name()));
+	}
+	
+	private boolean tryToInjectFieldWithInstanciator(Object instance, InjectionPoint point, long deadline) {
+		Object value = instanciateAll(Collections.singletonList(point.name()), deadline)[0];
+		return value != TIMED_OUT && tryToInject(instance, point, value);
+	}
+	
+	private boolean tryToInject(Object instance, InjectionPoint point, Object value) {
+		try {
+			return point.inject(instance, value);
 			
-			return null;
-		});
-		
-		return injectionSucceeded.get();
+		} catch (SecurityException | IllegalArgumentException | IllegalAccessException e) {
+			LOGGER.log(Level.SEVERE, "Failed to inject field {0} with : {1}.\nException is ", new Object[] {point.field(), value, e});
+			return false;
+		}
 	}
 }
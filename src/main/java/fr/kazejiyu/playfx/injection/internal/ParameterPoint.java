@@ -0,0 +1,107 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.injection.internal;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Parameter;
+
+import fr.kazejiyu.playfx.configuration.Converter;
+import fr.kazejiyu.playfx.configuration.Converters;
+import fr.kazejiyu.playfx.configuration.SerializedProperties;
+import fr.kazejiyu.playfx.injection.Inject;
+
+/**
+ * A parameter of an {@link Inject @Inject} constructor, along with everything required to resolve its value.
+ *
+ * @author Emmanuel CHEBBI
+ */
+final class ParameterPoint {
+
+	/** The parameter to resolve */
+	private final Parameter parameter;
+
+	/** The name of the value to inject */
+	private final String name;
+
+	/** Converts textual values to parameter's type; null if no converter is available */
+	private final Converter <?> converter;
+
+	/** The value given to the parameter if none can be resolved; null unless the parameter is primitive */
+	private final Object defaultValue;
+
+	/**
+	 * @param name
+	 * 			The name of the value to inject.
+	 */
+	ParameterPoint(Parameter parameter, String name, Converters converters) {
+		this.parameter = parameter;
+		this.name = name;
+		this.converter = converters.find(parameter.getParameterizedType()).orElse(null);
+		this.defaultValue = parameter.getType().isPrimitive() ? Array.get(Array.newInstance(parameter.getType(), 1), 0) : null;
+	}
+
+	/** @return the name of the value to inject */
+	String name() {
+		return name;
+	}
+
+	/** @return whether {@code value} can be given to the parameter */
+	boolean accepts(Object value) {
+		if( value == null )
+			return ! parameter.getType().isPrimitive();
+
+		return methodType(parameter.getType()).wrap().returnType().isInstance(value);
+	}
+
+	/** @return the value given to the parameter if none can be resolved */
+	Object defaultValue() {
+		return defaultValue;
+	}
+
+	/**
+	 * @return the value stored in {@code properties}, converted to parameter's type; null if there is none
+	 *
+	 * @throws IllegalArgumentException if the value cannot be converted to parameter's type
+	 */
+	Object resolveFrom(SerializedProperties properties) {
+		if( ! properties.contains(name) )
+			return null;
+
+		if( converter != null )
+			return properties.get(name, converter).orElse(null);
+
+		return properties.get(name).orElse(null);
+	}
+
+	/**
+	 * @return {@code value}, converted first if it is a {@code String} that does not match parameter's type
+	 *
+	 * @throws IllegalArgumentException if the value cannot be converted to parameter's type
+	 */
+	Object convert(Object value) {
+		if( value instanceof String && converter != null && ! parameter.getType().isInstance(value) )
+			return converter.convert((String) value);
+
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return parameter + " of " + parameter.getDeclaringExecutable();
+	}
+
+}
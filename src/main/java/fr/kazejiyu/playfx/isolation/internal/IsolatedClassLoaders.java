@@ -0,0 +1,51 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.isolation.internal;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Creates the class loaders in which isolated acts are loaded. <br>
+ * <br>
+ * Each act gets its own {@link URLClassLoader}; modular jars are loaded from the class path
+ * of this loader, as unnamed modules.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class IsolatedClassLoaders {
+	
+	private IsolatedClassLoaders() {
+		// utility class
+	}
+	
+	/**
+	 * Creates a new isolated class loader.
+	 * 
+	 * @param classpath
+	 * 			The locations of the classes and resources of the act.
+	 * @param parent
+	 * 			The parent class loader, typically the one that loaded PlayFX.
+	 * 
+	 * @return a new isolated class loader.
+	 */
+	public static Isolation create(URL[] classpath, ClassLoader parent) {
+		URLClassLoader loader = new URLClassLoader(classpath, parent);
+		return new Isolation(loader, Collections.unmodifiableList(Arrays.asList(classpath.clone())), loader);
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.isolation.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * A class loader owned by a single act. <br>
+ * <br>
+ * Once the act is removed, the isolation is closed: the classes it loaded can then be 
+ * unloaded as soon as no instance of them remains reachable.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see IsolatedClassLoaders
+ */
+public final class Isolation implements Closeable {
+	
+	private final ClassLoader classLoader;
+	
+	/** The locations of the classes and resources of the act */
+	private final List <URL> classpath;
+	
+	/** Releases the resources held by the class loader */
+	private final Closeable release;
+	
+	Isolation(ClassLoader classLoader, List <URL> classpath, Closeable release) {
+		this.classLoader = classLoader;
+		this.classpath = classpath;
+		this.release = release;
+	}
+	
+	/** @return the class loader owned by the act */
+	public ClassLoader getClassLoader() {
+		return classLoader;
+	}
+	
+	/** @return the locations of the classes and resources of the act */
+	public List <URL> getClasspath() {
+		return classpath;
+	}
+
+	@Override
+	public void close() throws IOException {
+		release.close();
+	}
+
+}
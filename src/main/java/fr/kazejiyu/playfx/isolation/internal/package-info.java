@@ -0,0 +1,4 @@
+/**
+ * <strong>Internal</strong> classes used to load acts in isolated class loaders (<u>not API</u>). 
+ */
+package fr.kazejiyu.playfx.isolation.internal;
\ No newline at end of file
@@ -0,0 +1,218 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.launcher;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import fr.kazejiyu.playfx.Play;
+import javafx.application.Application;
+
+/**
+ * Launches a JavaFX application with the Application Class-Data Sharing (AppCDS) archive
+ * generated by {@link CdsTrainer}, if any. <br>
+ * <br>
+ * Since the archive must be given to the JVM when it starts, the launcher starts the 
+ * application in a child JVM configured with the archive, then exits with the same status.
+ * When no archive is available, the application is launched in the current JVM as usual. <br>
+ * <br>
+ * Relaunching is not free: the startup of the launching JVM, that loads few classes and 
+ * no JavaFX, is added to the one of the application. The archive is only worth it when it 
+ * saves more than that, which {@link CdsTrainer} measures. Applications started by a 
+ * native launcher or a script can rather give {@code -XX:SharedArchiveFile} to the JVM directly.
+ * 
+ * <pre>
+ * public static void main(String[] args) {
+ *     CdsLauncher.launch(Launcher.class, args);
+ * }
+ * </pre>
+ * 
+ * The archive is looked for in the file given by the {@value #ARCHIVE_PROPERTY} system property,
+ * and defaults to {@code ~/.playfx/cds/<application class>.jsa}.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class CdsLauncher {
+	
+	/** The system property giving the location of the archive */
+	public static final String ARCHIVE_PROPERTY = "playfx.cds.archive";
+	
+	/** 
+	 * The system property set to {@code true} during a training session: once the stage 
+	 * of a {@link Play} is shown, each of its acts is put on stage and the application exits. 
+	 */
+	public static final String TRAINING_PROPERTY = "playfx.cds.training";
+	
+	/** The system property set in the child JVM, to avoid relaunching it again */
+	static final String CHILD_PROPERTY = "playfx.cds.child";
+	
+	/** The prefixes of the options of the current JVM that are not given to the child JVMs */
+	private static final List <String> NOT_FORWARDED = Arrays.asList(
+		"-XX:SharedArchiveFile", "-XX:ArchiveClassesAtExit", "-Xshare:", 
+		"-D" + CHILD_PROPERTY + "=",
+		"-agentlib:jdwp", "-Xrunjdwp"
+	);
+	
+	private static final Logger LOGGER = Logger.getLogger(Play.class.getName());
+	
+	private CdsLauncher() {
+		// utility class
+	}
+	
+	/**
+	 * Entry point of the child JVMs.
+	 * 
+	 * @param args
+	 * 			The name of the application class, followed by its arguments.
+	 * 
+	 * @throws ClassNotFoundException if the application class cannot be found
+	 */
+	public static void main(String[] args) throws ClassNotFoundException {
+		Class <? extends Application> application = Class.forName(args[0]).asSubclass(Application.class);
+		launch(application, Arrays.copyOfRange(args, 1, args.length));
+	}
+	
+	/**
+	 * Launches a JavaFX application, using its AppCDS archive if available.
+	 * 
+	 * @param application
+	 * 			The application to launch.
+	 * @param args
+	 * 			The arguments of the application.
+	 */
+	public static void launch(Class <? extends Application> application, String... args) {
+		Path archive = archiveOf(application);
+		
+		if( Boolean.getBoolean(CHILD_PROPERTY) || ! Files.isRegularFile(archive) ) {
+			if( Boolean.getBoolean(TRAINING_PROPERTY) )
+				Rehearsal.install();
+			
+			Application.launch(application, args);
+			return;
+		}
+		
+		List <String> options = Arrays.asList("-XX:SharedArchiveFile=" + archive, "-Xshare:auto");
+		
+		try {
+			System.exit(run(application, options, true, args));
+			
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Failed to relaunch {0} with its AppCDS archive : {1}", new Object[] {application, e});
+			Application.launch(application, args);
+			
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Returns the location of the AppCDS archive of an application.
+	 * 
+	 * @param application
+	 * 			The application.
+	 * 
+	 * @return the location of the archive, whether it exists or not.
+	 */
+	public static Path archiveOf(Class <? extends Application> application) {
+		String location = System.getProperty(ARCHIVE_PROPERTY);
+		
+		if( location != null )
+			return Paths.get(location);
+		
+		return Paths.get(System.getProperty("user.home"), ".playfx", "cds", application.getName() + ".jsa");
+	}
+	
+	/**
+	 * Runs an application in a child JVM sharing the class path, the module path and the options of the current one. <br>
+	 * <br>
+	 * The options of the current JVM ({@code -D}, {@code -Xmx}, {@code --add-opens}, {@code -javaagent}, ...)
+	 * are forwarded, except the ones related to class data sharing, which are replaced by {@code options},
+	 * and the debugger agent, whose port is already used by the current JVM. 
+	 * If PlayFX is a named module, the child JVM starts the launcher from the module path.
+	 * 
+	 * @param child
+	 * 			Whether the child JVM must launch the application itself; 
+	 * 			otherwise, it relaunches it with its archive, if any, as {@link #launch(Class, String...)} does.
+	 * 
+	 * @return the exit status of the child JVM
+	 */
+	static int run(Class <? extends Application> application, List <String> options, boolean child, String... args) throws IOException, InterruptedException {
+		List <String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		
+		for( String argument : ManagementFactory.getRuntimeMXBean().getInputArguments() ) {
+			if( isForwarded(argument) )
+				command.add(argument);
+		}
+		
+		command.addAll(options);
+		command.add("-D" + CHILD_PROPERTY + "=" + child);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		
+		String modulePath = System.getProperty("jdk.module.path");
+		
+		if( modulePath != null && ! modulePath.isEmpty() ) {
+			command.add("--module-path");
+			command.add(modulePath);
+			command.add("--add-modules");
+			command.add("ALL-MODULE-PATH");
+		}
+		
+		String module = moduleName();
+		
+		if( module != null ) {
+			command.add("-m");
+			command.add(module + "/" + CdsLauncher.class.getName());
+		}
+		else
+			command.add(CdsLauncher.class.getName());
+		
+		command.add(application.getName());
+		command.addAll(Arrays.asList(args));
+		
+		return new ProcessBuilder(command).inheritIO().start().waitFor();
+	}
+	
+	/** @return the name of the module of the launcher; null if it is not in a named module */
+	private static String moduleName() {
+		try {
+			// Class.getModule() has been added by Java 9
+			Object module = Class.class.getMethod("getModule").invoke(CdsLauncher.class);
+			return (String) module.getClass().getMethod("getName").invoke(module);
+			
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+	
+	/** @return whether an option of the current JVM must be given to the child JVMs */
+	private static boolean isForwarded(String argument) {
+		for( String ignored : NOT_FORWARDED ) {
+			if( argument.startsWith(ignored) )
+				return false;
+		}
+		return true;
+	}
+
+}
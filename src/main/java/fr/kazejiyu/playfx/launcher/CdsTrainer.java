@@ -0,0 +1,117 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.launcher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import fr.kazejiyu.playfx.Play;
+import javafx.application.Application;
+
+/**
+ * Generates the Application Class-Data Sharing (AppCDS) archive of a PlayFX application. <br>
+ * <br>
+ * The trainer runs the application in a training session: once the stage of a {@link Play} is shown, 
+ * each of its prepared acts is put on stage then the application exits. The classes loaded during 
+ * the session (JavaFX, FXML, controllers, ...) are dumped into the archive used by {@link CdsLauncher}.
+ * Finally, the trainer compares the startup time of the application launched through 
+ * {@link CdsLauncher#launch(Class, String...)} with and without the archive: the time measured 
+ * with the archive includes the startup of the JVM that relaunches the application. <br>
+ * <br>
+ * Dynamic archives require a JVM 13 or later. The trainer is meant to be run at build time, 
+ * for instance with {@code exec-maven-plugin}:
+ * 
+ * <pre>
+ * java -cp &lt;application class path&gt; fr.kazejiyu.playfx.launcher.CdsTrainer com.example.Launcher
+ * </pre>
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class CdsTrainer {
+	
+	/** The number of runs used to measure startup time */
+	private static final int RUNS = 3;
+	
+	private static final String TRAINING = "-D" + CdsLauncher.TRAINING_PROPERTY + "=true";
+	
+	private CdsTrainer() {
+		// utility class
+	}
+	
+	/**
+	 * Generates the AppCDS archive of an application and reports the startup time difference.
+	 * 
+	 * @param args
+	 * 			The name of the application class, followed by its arguments.
+	 * 
+	 * @throws Exception if the archive cannot be generated
+	 */
+	public static void main(String[] args) throws Exception {
+		if( args.length == 0 ) {
+			System.err.println("Usage: CdsTrainer <application class> [application arguments]");
+			System.exit(1);
+		}
+		
+		Class <? extends Application> application = Class.forName(args[0]).asSubclass(Application.class);
+		String[] arguments = Arrays.copyOfRange(args, 1, args.length);
+		
+		Path archive = CdsLauncher.archiveOf(application).toAbsolutePath();
+		Files.createDirectories(archive.getParent());
+		Files.deleteIfExists(archive);
+		
+		List <String> launching = Arrays.asList(TRAINING, "-D" + CdsLauncher.ARCHIVE_PROPERTY + "=" + archive);
+		long withoutArchive = measure(application, launching, arguments);
+		
+		int status = CdsLauncher.run(application, Arrays.asList(TRAINING, "-XX:ArchiveClassesAtExit=" + archive), true, arguments);
+		
+		if( status != 0 || ! Files.isRegularFile(archive) )
+			throw new IOException("Failed to generate the AppCDS archive " + archive + " (exit status: " + status + ")");
+		
+		long withArchive = measure(application, launching, arguments);
+		
+		System.out.println("AppCDS archive generated: " + archive);
+		System.out.println(String.format("Startup without archive: %d ms", withoutArchive));
+		System.out.println(String.format("Startup with archive:    %d ms", withArchive));
+		System.out.println(String.format("Difference:              %d ms (%.1f%%)", 
+				withoutArchive - withArchive, 100.0 * (withoutArchive - withArchive) / withoutArchive));
+	}
+	
+	/** 
+	 * @return the best time, in milliseconds, of a training session launched by {@link CdsLauncher}, 
+	 * 			from the start of the launching JVM to the end of the application
+	 * @throws IOException if a training session fails
+	 */
+	private static long measure(Class <? extends Application> application, List <String> options, String... args) throws IOException, InterruptedException {
+		long best = Long.MAX_VALUE;
+		
+		for( int run = 0 ; run < RUNS ; ++run ) {
+			long start = System.nanoTime();
+			int status = CdsLauncher.run(application, options, false, args);
+			long elapsed = System.nanoTime() - start;
+			
+			if( status != 0 )
+				throw new IOException("The training session of " + application.getName() + " failed (exit status: " + status + ")");
+			
+			best = Math.min(best, elapsed);
+		}
+		
+		return TimeUnit.NANOSECONDS.toMillis(best);
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.launcher;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import fr.kazejiyu.playfx.Play;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+/**
+ * Drives an application during an AppCDS {@link CdsTrainer training session}: 
+ * once the first stage directed by a {@link Play} is shown, each of its acts is 
+ * put on stage, then the application exits. <br>
+ * <br>
+ * Shown windows are listed by {@code Window.getWindows()}, added by JavaFX 9. 
+ * It is looked up reflectively so that the library still runs on JavaFX 8, 
+ * whose JVM cannot generate dynamic archives anyway.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+final class Rehearsal implements ListChangeListener<Window> {
+	
+	/** Window's getWindows method; null if the running JavaFX does not provide it */
+	private static final MethodHandle GET_WINDOWS = windowsMethod();
+	
+	/** Whether a play is being rehearsed */
+	private boolean started;
+	
+	private static final Logger LOGGER = Logger.getLogger(Play.class.getName());
+	
+	private Rehearsal() {
+		super();
+	}
+	
+	/** Rehearses the first play shown by the application */
+	@SuppressWarnings("unchecked")
+	static void install() {
+		if( GET_WINDOWS == null ) {
+			LOGGER.log(Level.WARNING, "Acts cannot be rehearsed before JavaFX 9");
+			return;
+		}
+		
+		try {
+			((ObservableList<Window>) GET_WINDOWS.invokeExact()).addListener(new Rehearsal());
+			
+		} catch (RuntimeException | Error e) {
+			throw e;
+			
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static MethodHandle windowsMethod() {
+		try {
+			return MethodHandles.publicLookup().findStatic(Window.class, "getWindows", MethodType.methodType(ObservableList.class));
+			
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			// JavaFX 8
+			return null;
+		}
+	}
+
+	@Override
+	public void onChanged(Change <? extends Window> change) {
+		while( change.next() ) {
+			for( Window window : change.getAddedSubList() ) {
+				Optional <Play> play = window instanceof Stage ? Play.directedOn((Stage) window) : Optional.empty();
+				
+				if( play.isPresent() && ! started ) {
+					started = true;
+					Platform.runLater(() -> rehearse(play.get()));
+				}
+			}
+		}
+	}
+	
+	/** Puts each act on stage, then exits the application */
+	private static void rehearse(Play play) {
+		for( String name : play.getActs() )
+			play.setScene(name);
+		
+		Platform.runLater(Platform::exit);
+	}
+
+}
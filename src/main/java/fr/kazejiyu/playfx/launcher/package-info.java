@@ -0,0 +1,4 @@
+/**
+ * Helpers launching PlayFX applications with an Application Class-Data Sharing (AppCDS) archive.
+ */
+package fr.kazejiyu.playfx.launcher;
\ No newline at end of file
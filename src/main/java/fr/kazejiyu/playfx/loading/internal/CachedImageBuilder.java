@@ -0,0 +1,90 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.loading.internal;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import fr.kazejiyu.playfx.images.ImageCache;
+import javafx.scene.image.Image;
+import javafx.util.Builder;
+
+/**
+ * Builds the {@code Image}s declared in FXML files by looking them up in an {@link ImageCache}. <br>
+ * <br>
+ * Only images defined by their URL alone are shared: images that are resized or loaded in 
+ * background are built by the default builder, since they may differ from the cached ones.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class CachedImageBuilder extends AbstractMap <String, Object> implements Builder <Image> {
+	
+	/** The name of the property holding image's URL */
+	private static final String URL = "url";
+	
+	/** Shared images */
+	private final ImageCache images;
+	
+	/** Builds the images that cannot be shared; may be null */
+	private final Builder <?> fallback;
+	
+	/** The properties set from the FXML file */
+	private final Map <String, Object> properties = new HashMap<>();
+	
+	/**
+	 * Creates a new builder.
+	 * 
+	 * @param images
+	 * 			Shared images.
+	 * @param fallback
+	 * 			Builds the images that cannot be shared.
+	 */
+	public CachedImageBuilder(ImageCache images, Builder <?> fallback) {
+		this.images = images;
+		this.fallback = fallback;
+	}
+	
+	@Override
+	public Object put(String key, Object value) {
+		return properties.put(key, value);
+	}
+
+	@Override
+	public Set <Entry<String, Object>> entrySet() {
+		return properties.entrySet();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Image build() {
+		Object url = properties.get(URL);
+		
+		if( url != null && properties.size() == 1 )
+			return images.get(url.toString());
+		
+		if( fallback instanceof Map ) {
+			((Map <String, Object>) fallback).putAll(properties);
+			return (Image) fallback.build();
+		}
+		
+		if( url == null )
+			throw new IllegalStateException("The URL of the image is missing");
+		
+		return new Image(url.toString());
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.loading.internal;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class loader remembering the result of each look up made through it. <br>
+ * <br>
+ * {@code FXMLLoader} resolves each element of an FXML file against its imports: with wildcard 
+ * imports, most of the attempts fail. This class loader caches both found classes and missing 
+ * ones, and throws missing ones without filling their stack trace, so that the same look ups 
+ * made by later loads are nearly free. Resources are looked up by the parent class loader. <br>
+ * <br>
+ * This class is thread-safe.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class CachingClassLoader extends ClassLoader {
+	
+	static {
+		registerAsParallelCapable();
+	}
+	
+	/** Classes already found, indexed by name */
+	private final Map <String, Class<?>> found = new ConcurrentHashMap<>();
+	
+	/** Names of the classes that could not be found */
+	private final Set <String> missing = ConcurrentHashMap.newKeySet();
+	
+	public CachingClassLoader(ClassLoader parent) {
+		super(parent);
+	}
+	
+	@Override
+	protected Class <?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+		Class <?> clazz = found.get(name);
+		
+		if( clazz != null )
+			return clazz;
+		
+		if( missing.contains(name) )
+			throw new MissingClassException(name);
+		
+		try {
+			clazz = getParent().loadClass(name);
+			found.put(name, clazz);
+			return clazz;
+			
+		} catch(ClassNotFoundException e) {
+			missing.add(name);
+			throw e;
+		}
+	}
+	
+	/** A ClassNotFoundException that is cheap to create */
+	private static final class MissingClassException extends ClassNotFoundException {
+		
+		private static final long serialVersionUID = 2418533207150582441L;
+
+		private MissingClassException(String name) {
+			super(name);
+		}
+		
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	}
+
+}
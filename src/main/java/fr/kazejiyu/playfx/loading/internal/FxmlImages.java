@@ -0,0 +1,126 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.loading.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import fr.kazejiyu.playfx.Play;
+
+/**
+ * Looks for the images declared in an FXML file, so that they can be decoded 
+ * before the file is loaded. <br>
+ * <br>
+ * Only the {@code <Image url="..."/>} elements whose URL is either absolute or 
+ * relative ({@code @}-prefixed) are found: URLs coming from variables or resources 
+ * are only known once the file is loaded. Relative URLs are resolved the same way 
+ * {@code FXMLLoader} does: against the class loader when they start with {@code /}, 
+ * against the FXML file otherwise.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class FxmlImages {
+	
+	/** Prefix of the relative locations */
+	private static final String RELATIVE_PREFIX = "@";
+	
+	/** Prefixes of the values resolved by FXMLLoader */
+	private static final String RESOLVED_PREFIXES = "$%#";
+	
+	private static final Logger LOGGER = Logger.getLogger(Play.class.getName());
+	
+	private FxmlImages() {
+		// utility class
+	}
+	
+	/**
+	 * Returns the URLs of the images declared in an FXML file. <br>
+	 * <br>
+	 * The scan is a best effort: if the file cannot be read, no URL is returned 
+	 * and the error is left to {@code FXMLLoader}.
+	 * 
+	 * @param location
+	 * 			The location of the FXML file to scan, used to resolve relative URLs.
+	 * @param classLoader
+	 * 			The class loader of the {@code FXMLLoader}, used to resolve URLs starting with {@code @/}.
+	 * @param input
+	 * 			The content of the FXML file. Closed once scanned.
+	 * 
+	 * @return the URLs of the images declared in the file
+	 */
+	public static List <String> scan(URL location, ClassLoader classLoader, InputStream input) {
+		List <String> urls = new ArrayList<>();
+		
+		try( InputStream document = input ) {
+			XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(document);
+			
+			try {
+				while( reader.hasNext() ) {
+					if( reader.next() == XMLStreamConstants.START_ELEMENT && isImage(reader.getLocalName()) )
+						addUrl(urls, location, classLoader, reader.getAttributeValue(null, "url"));
+				}
+			} finally {
+				reader.close();
+			}
+		} catch(IOException | XMLStreamException e) {
+			LOGGER.log(Level.FINE, "Unable to scan the images of {0} : {1}", new Object[] {location, e});
+			return Collections.emptyList();
+		}
+		return urls;
+	}
+	
+	private static boolean isImage(String element) {
+		return "Image".equals(element) || "javafx.scene.image.Image".equals(element);
+	}
+	
+	private static void addUrl(List <String> urls, URL location, ClassLoader classLoader, String url) throws MalformedURLException {
+		if( url == null || url.isEmpty() || RESOLVED_PREFIXES.indexOf(url.charAt(0)) >= 0 )
+			return;
+		
+		if( ! url.startsWith(RELATIVE_PREFIX) ) {
+			urls.add(url);
+			return;
+		}
+		
+		String path = url.substring(RELATIVE_PREFIX.length());
+		
+		// "@@" escapes a literal value
+		if( path.isEmpty() || path.startsWith(RELATIVE_PREFIX) )
+			return;
+		
+		if( path.charAt(0) != '/' ) {
+			urls.add(new URL(location, path).toString());
+			return;
+		}
+		
+		URL resource = classLoader.getResource(path.substring(1));
+		
+		if( resource != null )
+			urls.add(resource.toString());
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.loading.internal;
+
+import javafx.fxml.JavaFXBuilderFactory;
+import javafx.util.Builder;
+import javafx.util.BuilderFactory;
+
+/**
+ * A {@link BuilderFactory} that can be shared by the {@code FXMLLoader}s of several threads. <br>
+ * <br>
+ * Builders are created by a single {@link JavaFXBuilderFactory}, which caches the builder 
+ * look up of each type but is not thread-safe. Since most types do not need any builder, 
+ * they are remembered so that they can be resolved without contention. <br>
+ * <br>
+ * Since {@code JavaFXBuilderFactory} holds the types it resolved, a factory must not outlive 
+ * the class loader of these types: isolated acts use a factory of their own.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class SharedBuilderFactory implements BuilderFactory {
+	
+	/** Creates the builders */
+	private final BuilderFactory delegate;
+	
+	/** 
+	 * Whether types need a builder, computed once per type.
+	 * A ClassValue does not prevent the types from being unloaded. 
+	 */
+	private final ClassValue <Boolean> needsBuilder = new ClassValue<Boolean>() {
+		
+		@Override
+		protected Boolean computeValue(Class <?> type) {
+			return build(type) != null;
+		}
+	};
+	
+	public SharedBuilderFactory(ClassLoader classLoader) {
+		this(new JavaFXBuilderFactory(classLoader));
+	}
+	
+	public SharedBuilderFactory(BuilderFactory delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public Builder <?> getBuilder(Class <?> type) {
+		return needsBuilder.get(type) ? build(type) : null;
+	}
+	
+	private Builder <?> build(Class <?> type) {
+		synchronized( delegate ) {
+			return delegate.getBuilder(type);
+		}
+	}
+
+}
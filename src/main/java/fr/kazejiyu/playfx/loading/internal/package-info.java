@@ -0,0 +1,4 @@
+/**
+ * <strong>Internal</strong> caches shared by the {@code FXMLLoader}s of a play (<u>not API</u>). 
+ */
+package fr.kazejiyu.playfx.loading.internal;
\ No newline at end of file
@@ -0,0 +1,256 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.localization;
+
+import static java.util.Objects.requireNonNull;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import fr.kazejiyu.playfx.concurrent.internal.BackgroundThreads;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.StringBinding;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectPropertyBase;
+
+/**
+ * Localizes the acts of a {@link fr.kazejiyu.playfx.Play} and switches their locale while they are on stage. <br>
+ * <br>
+ * The texts of the acts are referenced by key, through {@link StringBinding}s:
+ * 
+ * <pre>
+ * title.textProperty().bind(localization.bind("orders.title"));
+ * </pre>
+ * 
+ * {@link #setLocale(Locale) Changing the locale} replaces the current bundle, which invalidates 
+ * all the bindings at once: every prepared act is translated during the next pulse, without 
+ * rebuilding any scene graph. <br>
+ * <br>
+ * Bundles are loaded once per locale and cached. The bundles of the locales the user is likely 
+ * to pick can be {@link #preload(Locale...) preloaded} in background, so that switching to them 
+ * does not block the JavaFX Application Thread. <br>
+ * <br>
+ * The locale and the bindings must be used on the JavaFX Application Thread.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see fr.kazejiyu.playfx.Play#setLocalization(Localization)
+ */
+public final class Localization {
+	
+	/** The base name of the bundles */
+	private final String baseName;
+	
+	/** Loads the bundles */
+	private final ClassLoader classLoader;
+	
+	/** Bundles already loaded, indexed by locale */
+	private final Map <Locale, ResourceBundle> bundles = new ConcurrentHashMap<>();
+	
+	/** Loads bundles in background */
+	private final Executor preloader = BackgroundThreads.newExecutor("localization");
+	
+	/** The bundle of the current locale */
+	private final Current <ResourceBundle> bundle = new Current<>(this, "bundle");
+	
+	/** The current locale; only changed along with the bundle, once the latter has been found */
+	private final Current <Locale> locale = new Current<>(this, "locale");
+	
+	/** Bindings to the texts of the current bundle, indexed by key */
+	private final Map <String, StringBinding> texts = new HashMap<>();
+	
+	/**
+	 * Creates a new localization, using the default locale and the context class loader.
+	 * 
+	 * @param baseName
+	 * 			The base name of the bundles, as given to {@link ResourceBundle#getBundle(String)}.
+	 * 
+	 * @throws MissingResourceException if no bundle can be found for the default locale
+	 */
+	public Localization(String baseName) {
+		this(baseName, Locale.getDefault(), Thread.currentThread().getContextClassLoader());
+	}
+	
+	/**
+	 * Creates a new localization.
+	 * 
+	 * @param baseName
+	 * 			The base name of the bundles, as given to {@link ResourceBundle#getBundle(String)}.
+	 * @param locale
+	 * 			The initial locale.
+	 * @param classLoader
+	 * 			The class loader used to load the bundles.
+	 * 
+	 * @throws MissingResourceException if no bundle can be found for {@code locale}
+	 */
+	public Localization(String baseName, Locale locale, ClassLoader classLoader) {
+		this.baseName = requireNonNull(baseName);
+		this.classLoader = requireNonNull(classLoader);
+		setLocale(locale);
+	}
+	
+	/** @return the current locale; changed through {@link #setLocale(Locale)} */
+	public ReadOnlyObjectProperty <Locale> localeProperty() {
+		return locale;
+	}
+	
+	/** @return the current locale */
+	public Locale getLocale() {
+		return locale.get();
+	}
+	
+	/**
+	 * Changes the current locale. All the bindings are translated during the next pulse. <br>
+	 * <br>
+	 * The bundle of {@code locale} is looked up first: if it cannot be found, 
+	 * neither the locale nor the bundle change. Otherwise, both are changed 
+	 * before the listeners of either of them are notified.
+	 * 
+	 * @param locale
+	 * 			The new locale.
+	 * 
+	 * @throws MissingResourceException if no bundle can be found for {@code locale}
+	 */
+	public void setLocale(Locale locale) {
+		ResourceBundle found = bundleFor(requireNonNull(locale));
+		
+		this.locale.value = locale;
+		this.bundle.value = found;
+		
+		this.locale.changed();
+		this.bundle.changed();
+	}
+	
+	/** @return the bundle of the current locale */
+	public ReadOnlyObjectProperty <ResourceBundle> bundleProperty() {
+		return bundle;
+	}
+	
+	/** @return the bundle of the current locale */
+	public ResourceBundle getBundle() {
+		return bundle.get();
+	}
+	
+	/**
+	 * Returns the text associated with {@code key} in the current bundle.
+	 * 
+	 * @param key
+	 * 			The key of the text.
+	 * 
+	 * @return the text associated with {@code key}, or {@code key} itself if the bundle does not contain it
+	 */
+	public String get(String key) {
+		ResourceBundle current = bundle.get();
+		return current.containsKey(key) ? current.getString(key) : key;
+	}
+	
+	/**
+	 * Returns a binding to the text associated with {@code key}. <br>
+	 * <br>
+	 * Bindings are created once per key and shared. They are updated each time the locale changes.
+	 * 
+	 * @param key
+	 * 			The key of the text.
+	 * 
+	 * @return a binding to the text associated with {@code key} in the current bundle
+	 * 
+	 * @see #get(String)
+	 */
+	public StringBinding bind(String key) {
+		return texts.computeIfAbsent(key, k -> Bindings.createStringBinding(() -> get(k), bundle));
+	}
+	
+	/**
+	 * Returns a binding to the text associated with {@code key}, formatted with {@link MessageFormat}
+	 * for the current locale.
+	 * 
+	 * @param key
+	 * 			The key of the pattern.
+	 * @param arguments
+	 * 			The arguments of the pattern.
+	 * 
+	 * @return a binding to the formatted text, updated each time the locale changes
+	 */
+	public StringBinding format(String key, Object... arguments) {
+		return Bindings.createStringBinding(() -> new MessageFormat(get(key), getLocale()).format(arguments), bundle);
+	}
+	
+	/**
+	 * Loads the bundles of some locales in background, so that switching to them is immediate.
+	 * 
+	 * @param locales
+	 * 			The locales the user is likely to pick.
+	 * 
+	 * @return a future completed once the bundles are loaded, or completed exceptionally 
+	 * 		   with a {@link MissingResourceException} if one of them cannot be found.
+	 */
+	public CompletableFuture <Void> preload(Locale... locales) {
+		List <CompletableFuture<ResourceBundle>> loadings = new ArrayList<>();
+		
+		for( Locale toLoad : locales )
+			loadings.add(CompletableFuture.supplyAsync(() -> bundleFor(toLoad), preloader));
+		
+		return CompletableFuture.allOf(loadings.toArray(new CompletableFuture<?>[0]));
+	}
+	
+	/** @return the bundle of {@code locale}, loaded once */
+	private ResourceBundle bundleFor(Locale locale) {
+		return bundles.computeIfAbsent(locale, l -> ResourceBundle.getBundle(baseName, l, classLoader));
+	}
+	
+	/** A read-only property whose value can be changed without notifying its listeners right away */
+	private static final class Current <T> extends ReadOnlyObjectPropertyBase<T> {
+		
+		private final Object bean;
+		private final String name;
+		
+		private T value;
+		
+		private Current(Object bean, String name) {
+			this.bean = bean;
+			this.name = name;
+		}
+		
+		@Override
+		public T get() {
+			return value;
+		}
+		
+		@Override
+		public Object getBean() {
+			return bean;
+		}
+		
+		@Override
+		public String getName() {
+			return name;
+		}
+		
+		/** Notifies the listeners that the value has changed */
+		private void changed() {
+			fireValueChangedEvent();
+		}
+	}
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Classes used to localize acts and switch their locale while they are on stage.
+ */
+package fr.kazejiyu.playfx.localization;
\ No newline at end of file
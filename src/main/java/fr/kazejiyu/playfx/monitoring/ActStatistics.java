@@ -0,0 +1,97 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.monitoring;
+
+import fr.kazejiyu.playfx.Act;
+
+/**
+ * Rendering statistics of an {@link Act}, gathered while it was on stage.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class ActStatistics {
+	
+	/** The number of frames taken into account to compute percentiles */
+	private static final int WINDOW = 512;
+	
+	/** The name of the act */
+	private final String name;
+	
+	/** Time elapsed between two consecutive pulses */
+	private final RollingPercentiles frameIntervals = new RollingPercentiles(WINDOW);
+	
+	/** Time spent in CSS and layout passes */
+	private final RollingPercentiles layoutTimes = new RollingPercentiles(WINDOW);
+	
+	private volatile long frames;
+	private volatile int nodes;
+	
+	ActStatistics(String name) {
+		this.name = name;
+	}
+	
+	/** @return the name of the act */
+	public String getName() {
+		return name;
+	}
+	
+	/** @return the number of frames rendered while the act was on stage */
+	public long getFrameCount() {
+		return frames;
+	}
+	
+	/** @return the number of nodes in act's scene graph, as last sampled */
+	public int getNodeCount() {
+		return nodes;
+	}
+	
+	/** @return the percentiles of the time elapsed between two frames */
+	public Percentiles getFrameIntervals() {
+		return frameIntervals.percentiles();
+	}
+	
+	/**
+	 * Returns the percentiles of the time spent in CSS and layout passes. <br>
+	 * <br>
+	 * These times can only be measured on JavaFX 9 and later; on JavaFX 8, 
+	 * the returned percentiles have no sample.
+	 * 
+	 * @return the percentiles of the time spent in CSS and layout passes.
+	 */
+	public Percentiles getLayoutTimes() {
+		return layoutTimes.percentiles();
+	}
+	
+	void recordFrameInterval(long nanos) {
+		frameIntervals.record(nanos);
+		++frames;
+	}
+	
+	void recordLayoutTime(long nanos) {
+		layoutTimes.record(nanos);
+	}
+	
+	void recordNodeCount(int count) {
+		nodes = count;
+	}
+	
+	@Override
+	public String toString() {
+		return name + " [frames=" + frames + ", nodes=" + nodes + "]\n" 
+			 + "  frame intervals: " + getFrameIntervals() + "\n"
+			 + "  css & layout:    " + getLayoutTimes();
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.monitoring;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+/**
+ * Measures the pulses of a scene thanks to an {@link AnimationTimer}. <br>
+ * <br>
+ * Java 8 does not provide any way to observe the CSS and layout passes, 
+ * hence this probe only measures the interval between frames. <br>
+ * <br>
+ * An {@code AnimationTimer} requests a pulse on every frame, even when the scene is idle:
+ * the timer only runs while the scene is displayed in a showing window.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+final class AnimationTimerProbe extends PulseProbe {
+	
+	private final AnimationTimer timer = new AnimationTimer() {
+		
+		/** The timestamp of the previous frame */
+		private long previous;
+		
+		@Override
+		public void handle(long now) {
+			if( previous != 0 && now - previous < IDLE_THRESHOLD )
+				statistics.recordFrameInterval(now - previous);
+			
+			previous = now;
+			sampleNodeCount(now);
+		}
+		
+		@Override
+		public void stop() {
+			super.stop();
+			previous = 0;
+		}
+	};
+	
+	/** Whether the probe has been started */
+	private boolean started;
+	
+	/** The window displaying the scene; null if none */
+	private Window window;
+	
+	private final ChangeListener <Window> windowChanged = (observable, previous, current) -> watch(current);
+	private final InvalidationListener showingChanged = observable -> update();
+	
+	AnimationTimerProbe(Scene scene, ActStatistics statistics) {
+		super(scene, statistics);
+	}
+
+	@Override
+	void start() {
+		started = true;
+		scene.windowProperty().addListener(windowChanged);
+		watch(scene.getWindow());
+	}
+
+	@Override
+	void stop() {
+		started = false;
+		scene.windowProperty().removeListener(windowChanged);
+		watch(null);
+	}
+	
+	/** Starts or stops the timer when {@code current} is shown or hidden */
+	private void watch(Window current) {
+		if( window != null )
+			window.showingProperty().removeListener(showingChanged);
+		
+		window = current;
+		
+		if( window != null )
+			window.showingProperty().addListener(showingChanged);
+		
+		update();
+	}
+	
+	/** Runs the timer only while the scene is displayed */
+	private void update() {
+		if( started && window != null && window.isShowing() )
+			timer.start();
+		else
+			timer.stop();
+	}
+
+}
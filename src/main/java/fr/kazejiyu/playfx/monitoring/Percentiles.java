@@ -0,0 +1,74 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.monitoring;
+
+import java.time.Duration;
+
+/**
+ * The percentiles of a duration measured over the last frames.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class Percentiles {
+	
+	/** Percentiles computed over no sample at all */
+	static final Percentiles NONE = new Percentiles(0, 0, 0, 0, 0);
+	
+	private final int samples;
+	private final long p50;
+	private final long p95;
+	private final long p99;
+	private final long max;
+	
+	Percentiles(int samples, long p50, long p95, long p99, long max) {
+		this.samples = samples;
+		this.p50 = p50;
+		this.p95 = p95;
+		this.p99 = p99;
+		this.max = max;
+	}
+	
+	/** @return the number of samples the percentiles have been computed from */
+	public int getSamples() {
+		return samples;
+	}
+	
+	/** @return the median */
+	public Duration getP50() {
+		return Duration.ofNanos(p50);
+	}
+	
+	/** @return the 95th percentile */
+	public Duration getP95() {
+		return Duration.ofNanos(p95);
+	}
+	
+	/** @return the 99th percentile */
+	public Duration getP99() {
+		return Duration.ofNanos(p99);
+	}
+	
+	/** @return the greatest sample */
+	public Duration getMax() {
+		return Duration.ofNanos(max);
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms", 
+				p50 / 1e6, p95 / 1e6, p99 / 1e6, max / 1e6);
+	}
+
+}
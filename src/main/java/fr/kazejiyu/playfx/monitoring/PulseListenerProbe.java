@@ -0,0 +1,115 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.monitoring;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import javafx.scene.Scene;
+
+/**
+ * Measures the pulses of a scene thanks to its pre- and post-layout pulse listeners. <br>
+ * <br>
+ * Unlike an {@code AnimationTimer}, pulse listeners do not request any pulse: 
+ * the probe only observes the frames the scene actually renders. <br>
+ * <br>
+ * Pulse listeners have been added to {@code Scene} by JavaFX 9. They are looked up
+ * reflectively so that the library still runs on JavaFX 8.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see #isSupported()
+ */
+final class PulseListenerProbe extends PulseProbe {
+	
+	/** Scene's pulse listeners methods; null if the running JavaFX does not provide them */
+	private static final MethodHandle ADD_PRE_LAYOUT = listenerMethod("addPreLayoutPulseListener");
+	private static final MethodHandle REMOVE_PRE_LAYOUT = listenerMethod("removePreLayoutPulseListener");
+	private static final MethodHandle ADD_POST_LAYOUT = listenerMethod("addPostLayoutPulseListener");
+	private static final MethodHandle REMOVE_POST_LAYOUT = listenerMethod("removePostLayoutPulseListener");
+	
+	/** The time at which the previous pulse started */
+	private long previousPulse;
+	
+	/** The time at which the CSS and layout passes of the current pulse started */
+	private long layoutStart;
+	
+	private final Runnable beforeLayout = this::beforeLayout;
+	private final Runnable afterLayout = this::afterLayout;
+	
+	PulseListenerProbe(Scene scene, ActStatistics statistics) {
+		super(scene, statistics);
+	}
+	
+	/** @return whether the running JavaFX provides pulse listeners */
+	static boolean isSupported() {
+		return ADD_PRE_LAYOUT != null && REMOVE_PRE_LAYOUT != null 
+			&& ADD_POST_LAYOUT != null && REMOVE_POST_LAYOUT != null;
+	}
+	
+	private static MethodHandle listenerMethod(String name) {
+		try {
+			return MethodHandles.publicLookup().findVirtual(Scene.class, name, MethodType.methodType(void.class, Runnable.class));
+			
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			// JavaFX 8
+			return null;
+		}
+	}
+
+	@Override
+	void start() {
+		invoke(ADD_PRE_LAYOUT, beforeLayout);
+		invoke(ADD_POST_LAYOUT, afterLayout);
+	}
+
+	@Override
+	void stop() {
+		invoke(REMOVE_PRE_LAYOUT, beforeLayout);
+		invoke(REMOVE_POST_LAYOUT, afterLayout);
+		previousPulse = 0;
+	}
+	
+	private void invoke(MethodHandle method, Runnable listener) {
+		try {
+			method.invokeExact(scene, listener);
+			
+		} catch (RuntimeException | Error e) {
+			throw e;
+			
+		} catch (Throwable e) {
+			// the methods do not declare any checked exception
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private void beforeLayout() {
+		long now = System.nanoTime();
+		
+		if( previousPulse != 0 && now - previousPulse < IDLE_THRESHOLD )
+			statistics.recordFrameInterval(now - previousPulse);
+		
+		previousPulse = now;
+		layoutStart = now;
+	}
+	
+	private void afterLayout() {
+		long now = System.nanoTime();
+		statistics.recordLayoutTime(now - layoutStart);
+		sampleNodeCount(now);
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.monitoring;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import fr.kazejiyu.playfx.Play;
+import fr.kazejiyu.playfx.PlayListener;
+import javafx.scene.Scene;
+
+/**
+ * Measures the rendering performance of each act of a {@link Play}. <br>
+ * <br>
+ * Once {@link #attachTo(Play) attached}, the monitor measures the pulses of the scene 
+ * currently on stage and records them into the {@link ActStatistics} of the matching act:
+ * <ul>
+ * 	<li>the interval between two frames,</li>
+ * 	<li>the time spent in CSS and layout passes (JavaFX 9 and later only),</li>
+ * 	<li>the number of nodes of the scene graph.</li>
+ * </ul>
+ * 
+ * Statistics can be queried with {@link #getStatistics(String)} or displayed on screen
+ * thanks to {@link #showOverlay()}. They are indexed by act's name and outlive the acts
+ * themselves, so that reloading an act keeps gathering into the same statistics; they
+ * are only discarded by {@link #reset()}.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class PulseMonitor implements PlayListener {
+	
+	/** The monitored play */
+	private final Play play;
+	
+	/** Statistics of each act, indexed by act's name */
+	private final Map <String, ActStatistics> statistics = new ConcurrentHashMap<>();
+	
+	/** Measures the pulses of the scene currently on stage; null if none */
+	private PulseProbe probe;
+	
+	/** The name of the act measured by the probe; null if none */
+	private String probedAct;
+	
+	/** Displays the statistics on screen; null if hidden */
+	private PulseOverlay overlay;
+	
+	private PulseMonitor(Play play) {
+		this.play = play;
+	}
+	
+	/**
+	 * Starts monitoring the acts of a play. <br>
+	 * <br>
+	 * Must be called on the JavaFX Application Thread.
+	 * 
+	 * @param play
+	 * 			The play to monitor. Must not be {@code null}.
+	 * 
+	 * @return a new monitor, attached to {@code play}.
+	 */
+	public static PulseMonitor attachTo(Play play) {
+		PulseMonitor monitor = new PulseMonitor(requireNonNull(play));
+		play.addListener(monitor);
+		
+		Scene current = play.getStage().getScene();
+		play.getCurrentAct().ifPresent(name -> monitor.actShown(name, current));
+		
+		return monitor;
+	}
+	
+	/**
+	 * Stops monitoring the play. <br>
+	 * <br>
+	 * Gathered statistics are kept. Must be called on the JavaFX Application Thread.
+	 */
+	public void detach() {
+		play.removeListener(this);
+		hideOverlay();
+		
+		stopProbe();
+	}
+	
+	private void stopProbe() {
+		if( probe != null ) {
+			probe.stop();
+			probe = null;
+			probedAct = null;
+		}
+	}
+	
+	/**
+	 * Returns the statistics gathered for a given act.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * 
+	 * @return the statistics of the act, if it has already been on stage.
+	 */
+	public Optional <ActStatistics> getStatistics(String name) {
+		return Optional.ofNullable(statistics.get(name));
+	}
+	
+	/** @return the statistics of all the acts that have been on stage */
+	public Collection <ActStatistics> getStatistics() {
+		return Collections.unmodifiableCollection(statistics.values());
+	}
+	
+	/**
+	 * Discards the statistics gathered so far. <br>
+	 * <br>
+	 * The act currently on stage starts over with new statistics.
+	 * Must be called on the JavaFX Application Thread.
+	 */
+	public void reset() {
+		statistics.clear();
+		
+		if( probedAct != null )
+			actShown(probedAct, play.getStage().getScene());
+	}
+	
+	/**
+	 * Displays the statistics of the current act over the stage. <br>
+	 * <br>
+	 * Must be called on the JavaFX Application Thread.
+	 */
+	public void showOverlay() {
+		if( overlay == null ) {
+			overlay = new PulseOverlay(play.getStage(), this::currentStatistics);
+			overlay.show();
+		}
+	}
+	
+	/**
+	 * Hides the statistics displayed by {@link #showOverlay()}. <br>
+	 * <br>
+	 * Must be called on the JavaFX Application Thread.
+	 */
+	public void hideOverlay() {
+		if( overlay != null ) {
+			overlay.hide();
+			overlay = null;
+		}
+	}
+	
+	private ActStatistics currentStatistics() {
+		return play.getCurrentAct().map(statistics::get).orElse(null);
+	}
+	
+	@Override
+	public void actShown(String name, Scene scene) {
+		stopProbe();
+		
+		ActStatistics stats = statistics.computeIfAbsent(name, ActStatistics::new);
+		probe = PulseProbes.create(scene, stats);
+		probedAct = name;
+		probe.start();
+	}
+	
+	@Override
+	public void actRemoved(String name) {
+		if( name.equals(probedAct) )
+			stopProbe();
+	}
+
+}
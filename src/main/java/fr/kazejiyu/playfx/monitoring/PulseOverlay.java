@@ -0,0 +1,75 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.monitoring;
+
+import java.util.function.Supplier;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.stage.Popup;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+/**
+ * Displays the statistics of the current act in the top-left corner of a stage.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+final class PulseOverlay {
+	
+	/** Interval between two refreshes of the displayed statistics */
+	private static final Duration REFRESH_PERIOD = Duration.millis(500);
+	
+	private final Stage stage;
+	private final Popup popup = new Popup();
+	private final Text text = new Text();
+	private final Timeline refresh;
+	
+	PulseOverlay(Stage stage, Supplier <ActStatistics> statistics) {
+		this.stage = stage;
+		
+		text.setFill(Color.WHITE);
+		text.setFont(Font.font("Monospaced", 11));
+		
+		StackPane background = new StackPane(text);
+		background.setStyle("-fx-background-color: rgba(0, 0, 0, 0.6); -fx-padding: 4;");
+		background.setMouseTransparent(true);
+		popup.getContent().add(background);
+		
+		refresh = new Timeline(new KeyFrame(REFRESH_PERIOD, e -> {
+			ActStatistics current = statistics.get();
+			text.setText(current == null ? "no act on stage" : current.toString());
+			popup.setX(stage.getX() + 8);
+			popup.setY(stage.getY() + 32);
+		}));
+		refresh.setCycleCount(Animation.INDEFINITE);
+	}
+	
+	void show() {
+		popup.show(stage);
+		refresh.play();
+	}
+	
+	void hide() {
+		refresh.stop();
+		popup.hide();
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+/**
+ * Measures the pulses of a scene and records them into the statistics of an act.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see PulseProbes
+ */
+abstract class PulseProbe {
+	
+	/** Beyond this interval, the scene is considered idle rather than slow */
+	protected static final long IDLE_THRESHOLD = TimeUnit.SECONDS.toNanos(1);
+	
+	/** Interval between two counts of the nodes of the scene */
+	private static final long NODE_COUNT_PERIOD = TimeUnit.SECONDS.toNanos(1);
+	
+	protected final Scene scene;
+	protected final ActStatistics statistics;
+	
+	/** The last time the nodes have been counted */
+	private long lastNodeCount;
+	
+	protected PulseProbe(Scene scene, ActStatistics statistics) {
+		this.scene = scene;
+		this.statistics = statistics;
+	}
+	
+	/** Starts measuring the pulses. Must be called on the JavaFX Application Thread. */
+	abstract void start();
+
+	/** Stops measuring the pulses. Must be called on the JavaFX Application Thread. */
+	abstract void stop();
+	
+	/** Counts the nodes of the scene, at most once per second */
+	protected void sampleNodeCount(long now) {
+		if( lastNodeCount != 0 && now - lastNodeCount < NODE_COUNT_PERIOD )
+			return;
+		
+		lastNodeCount = now;
+		statistics.recordNodeCount(countNodes(scene.getRoot()));
+	}
+	
+	private static int countNodes(Node node) {
+		int count = 1;
+		
+		if( node instanceof Parent ) {
+			for( Node child : ((Parent) node).getChildrenUnmodifiable() )
+				count += countNodes(child);
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.monitoring;
+
+import javafx.scene.Scene;
+
+/**
+ * Creates the {@link PulseProbe}s best suited to the running JavaFX. <br>
+ * <br>
+ * Scene's pulse listeners are used when available; otherwise, the probes fall back
+ * to an {@link AnimationTimerProbe}.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+final class PulseProbes {
+	
+	private PulseProbes() {
+		// utility class
+	}
+	
+	/** @return a new probe measuring the pulses of {@code scene} */
+	static PulseProbe create(Scene scene, ActStatistics statistics) {
+		if( PulseListenerProbe.isSupported() )
+			return new PulseListenerProbe(scene, statistics);
+		
+		return new AnimationTimerProbe(scene, statistics);
+	}
+
+}
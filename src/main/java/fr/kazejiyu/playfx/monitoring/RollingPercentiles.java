@@ -0,0 +1,70 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.monitoring;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the last samples of a measure in order to compute its percentiles. <br>
+ * <br>
+ * Samples are stored in a fixed-size ring buffer, hence recording a sample never allocates.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+final class RollingPercentiles {
+	
+	/** The last samples recorded */
+	private final long[] samples;
+	
+	/** Used to sort the samples without allocating */
+	private final long[] sorted;
+	
+	/** The index of the next sample to write */
+	private int next;
+	
+	/** The number of samples actually recorded, up to samples.length */
+	private int count;
+	
+	RollingPercentiles(int capacity) {
+		this.samples = new long[capacity];
+		this.sorted = new long[capacity];
+	}
+	
+	synchronized void record(long sample) {
+		samples[next] = sample;
+		next = (next + 1) % samples.length;
+		
+		if( count < samples.length )
+			++count;
+	}
+	
+	/** @return the percentiles of the recorded samples */
+	synchronized Percentiles percentiles() {
+		if( count == 0 )
+			return Percentiles.NONE;
+		
+		System.arraycopy(samples, 0, sorted, 0, count);
+		Arrays.sort(sorted, 0, count);
+		
+		return new Percentiles(count, at(0.50), at(0.95), at(0.99), sorted[count - 1]);
+	}
+	
+	/** @return the value at the given rank of the sorted samples */
+	private long at(double rank) {
+		int index = (int) Math.ceil(rank * count) - 1;
+		return sorted[Math.max(0, index)];
+	}
+	
+}
@@ -0,0 +1,4 @@
+/**
+ * Tools measuring the rendering performance of the acts of a {@link fr.kazejiyu.playfx.Play}.
+ */
+package fr.kazejiyu.playfx.monitoring;
\ No newline at end of file
@@ -0,0 +1,160 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.navigation;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.kazejiyu.playfx.persistence.internal.SafeFiles;
+
+/**
+ * Counts the transitions between the acts of a play and remembers where the acts can be loaded from.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+final class NavigationGraph {
+	
+	/** Identifies PlayFX's navigation graphs */
+	private static final int MAGIC = 0x50465850; // PFXP
+	
+	/** The version of the layout of the navigation graphs */
+	private static final short FORMAT_VERSION = 1;
+	
+	/** How many times each act followed another one, indexed by previous act then by next act */
+	private final Map <String, Map<String, Integer>> transitions = new HashMap<>();
+	
+	/** The location of the FXML file of each act that can be prefetched */
+	private final Map <String, URL> locations = new HashMap<>();
+	
+	/** Counts that {@code next} has been put on stage right after {@code previous} */
+	void followed(String previous, String next) {
+		if( ! previous.equals(next) )
+			transitions.computeIfAbsent(previous, p -> new HashMap<>()).merge(next, 1, Integer::sum);
+	}
+	
+	/** @return the acts that most often followed {@code name}, from the most to the least frequent */
+	List <String> likelyNextActs(String name, int max) {
+		Map <String, Integer> next = transitions.getOrDefault(name, Collections.emptyMap());
+		List <String> likely = new ArrayList<>(next.keySet());
+		
+		likely.sort((a, b) -> Integer.compare(next.get(b), next.get(a)));
+		return likely.subList(0, Math.min(max, likely.size()));
+	}
+	
+	/** Remembers where an act can be loaded from; forgets it if {@code location} cannot be prefetched */
+	void located(String name, URL location) {
+		if( location != null && isPrefetchable(location) )
+			locations.put(name, location);
+		else
+			locations.remove(name);
+	}
+	
+	/** @return the location an act can be prefetched from; null if unknown */
+	URL locationOf(String name) {
+		return locations.get(name);
+	}
+	
+	/** @return whether the act at {@code location} can be loaded again without its class loader */
+	private static boolean isPrefetchable(URL location) {
+		return "file".equals(location.getProtocol());
+	}
+	
+	/**
+	 * Saves the graph.
+	 * 
+	 * @param file
+	 * 			Where the graph is saved.
+	 * 
+	 * @throws IOException if the file cannot be written.
+	 */
+	void save(Path file) throws IOException {
+		ByteArrayOutputStream graph = new ByteArrayOutputStream();
+		
+		try( DataOutputStream out = new DataOutputStream(graph) ) {
+			out.writeInt(MAGIC);
+			out.writeShort(FORMAT_VERSION);
+			
+			out.writeInt(locations.size());
+			
+			for( Map.Entry <String, URL> location : locations.entrySet() ) {
+				out.writeUTF(location.getKey());
+				out.writeUTF(location.getValue().toExternalForm());
+			}
+			
+			out.writeInt(transitions.size());
+			
+			for( Map.Entry <String, Map<String, Integer>> from : transitions.entrySet() ) {
+				out.writeUTF(from.getKey());
+				out.writeInt(from.getValue().size());
+				
+				for( Map.Entry <String, Integer> to : from.getValue().entrySet() ) {
+					out.writeUTF(to.getKey());
+					out.writeInt(to.getValue());
+				}
+			}
+		}
+		SafeFiles.write(file, graph.toByteArray(), ".navigation");
+	}
+	
+	/**
+	 * Restores a graph saved by {@link #save(Path)}. <br>
+	 * <br>
+	 * The graph is left unchanged if the file cannot be read.
+	 * 
+	 * @param file
+	 * 			Where the graph has been saved.
+	 * 
+	 * @throws IOException if the file cannot be read or is not a navigation graph.
+	 */
+	void restore(Path file) throws IOException {
+		try( DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))) ) {
+			if( in.readInt() != MAGIC || in.readShort() != FORMAT_VERSION )
+				throw new IOException("Unsupported navigation graph");
+			
+			Map <String, URL> restoredLocations = new HashMap<>();
+			Map <String, Map<String, Integer>> restoredTransitions = new HashMap<>();
+			
+			for( int i = in.readInt() ; i > 0 ; --i ) {
+				String name = in.readUTF();
+				URL location = new URL(in.readUTF());
+				
+				if( isPrefetchable(location) )
+					restoredLocations.put(name, location);
+			}
+			
+			for( int i = in.readInt() ; i > 0 ; --i ) {
+				Map <String, Integer> next = restoredTransitions.computeIfAbsent(in.readUTF(), from -> new HashMap<>());
+				
+				for( int j = in.readInt() ; j > 0 ; --j )
+					next.put(in.readUTF(), in.readInt());
+			}
+			
+			locations.putAll(restoredLocations);
+			transitions.putAll(restoredTransitions);
+		}
+	}
+
+}
@@ -0,0 +1,303 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.navigation;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import fr.kazejiyu.playfx.Play;
+import fr.kazejiyu.playfx.PlayListener;
+import javafx.animation.PauseTransition;
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.stage.WindowEvent;
+
+/**
+ * Learns how users navigate between the acts of a {@link Play} and prefetches the likely next acts. <br>
+ * <br>
+ * Once {@link #attachTo(Play, Path) attached}, the predictor counts the transitions between the acts 
+ * put on stage. When no act has been put on stage for a {@link #setIdleDelay(Duration) while}, the 
+ * acts that most often followed the current one are {@link Play#prefetch(String, URL) prefetched}, 
+ * as long as the used heap stays below the {@link #setHeapLimit(double) limit}. Prefetches of acts 
+ * that are not shown before the next prediction are {@link Play#cancelPrefetch(String) cancelled}. <br>
+ * <br>
+ * The transitions, as well as the location of the acts, are saved in a file when the stage is 
+ * hidden or the predictor detached, and restored by the next sessions. Only the acts read from 
+ * {@code file:} URLs and not {@link Play#prepareIsolated(String, String, URL...) isolated} are 
+ * prefetched: the others cannot be loaded again by their location alone. <br>
+ * <br>
+ * The predictor counts:
+ * <ul>
+ * 	<li><strong>hits</strong>: acts put on stage that had been prefetched,</li>
+ * 	<li><strong>misses</strong>: acts put on stage that had to be loaded on demand, 
+ * 		including the ones whose prefetch was not over yet,</li>
+ * 	<li><strong>wasted</strong> prefetches: prefetched acts removed without being shown.</li>
+ * </ul>
+ * 
+ * All the methods must be called on the JavaFX Application Thread.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class NavigationPredictor implements PlayListener {
+	
+	private static final Duration DEFAULT_IDLE_DELAY = Duration.ofMillis(500);
+	private static final int DEFAULT_MAX_PREFETCHED = 2;
+	private static final double DEFAULT_HEAP_LIMIT = 0.75;
+	
+	/** The play whose navigation is predicted */
+	private final Play play;
+	
+	/** Where the navigation graph is saved */
+	private final Path file;
+	
+	/** The transitions between the acts and their location */
+	private final NavigationGraph graph = new NavigationGraph();
+	
+	/** Whether the prefetched acts are shown */
+	private final PrefetchOutcomes outcomes = new PrefetchOutcomes();
+	
+	/** Triggers predictions once the navigation is idle */
+	private final PauseTransition idle = new PauseTransition();
+	
+	/** Saves the graph when the stage is hidden */
+	private final EventHandler <WindowEvent> saveOnHide = event -> saveQuietly();
+	
+	/** The act currently on stage; null if none */
+	private String current;
+	
+	private int maxPrefetched = DEFAULT_MAX_PREFETCHED;
+	private double heapLimit = DEFAULT_HEAP_LIMIT;
+	
+	private static final Logger LOGGER = Logger.getLogger(Play.class.getName());
+	
+	private NavigationPredictor(Play play, Path file) {
+		this.play = play;
+		this.file = file;
+		
+		setIdleDelay(DEFAULT_IDLE_DELAY);
+		idle.setOnFinished(event -> prefetch());
+	}
+	
+	/**
+	 * Starts learning the navigation of a play. <br>
+	 * <br>
+	 * The navigation graph saved by previous sessions, if any, is restored.
+	 * 
+	 * @param play
+	 * 			The play whose navigation is predicted. Must not be {@code null}.
+	 * @param file
+	 * 			Where the navigation graph is saved. Must not be {@code null}.
+	 * 
+	 * @return a new predictor, attached to {@code play}
+	 */
+	public static NavigationPredictor attachTo(Play play, Path file) {
+		NavigationPredictor predictor = new NavigationPredictor(requireNonNull(play), requireNonNull(file));
+		predictor.restore();
+		
+		play.addListener(predictor);
+		play.getStage().addEventHandler(WindowEvent.WINDOW_HIDDEN, predictor.saveOnHide);
+		
+		play.getCurrentAct().ifPresent(name -> predictor.current = name);
+		return predictor;
+	}
+	
+	/** Stops learning the navigation of the play and saves the navigation graph */
+	public void detach() {
+		idle.stop();
+		play.removeListener(this);
+		play.getStage().removeEventHandler(WindowEvent.WINDOW_HIDDEN, saveOnHide);
+		saveQuietly();
+	}
+	
+	/**
+	 * Sets the time without navigation after which likely next acts are prefetched. Default is 500 ms.
+	 * 
+	 * @param delay
+	 * 			The time without navigation after which likely next acts are prefetched. Must not be negative.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public NavigationPredictor setIdleDelay(Duration delay) {
+		if( delay.isNegative() )
+			throw new IllegalArgumentException("The idle delay must not be negative: " + delay);
+		
+		idle.setDuration(javafx.util.Duration.millis(delay.toMillis()));
+		return this;
+	}
+	
+	/**
+	 * Sets the number of acts prefetched after each navigation. Default is 2.
+	 * 
+	 * @param max
+	 * 			The number of acts prefetched after each navigation. Must not be negative.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public NavigationPredictor setMaxPrefetched(int max) {
+		if( max < 0 )
+			throw new IllegalArgumentException("The number of prefetched acts must not be negative: " + max);
+		
+		this.maxPrefetched = max;
+		return this;
+	}
+	
+	/**
+	 * Sets the memory budget of the prefetches: no act is prefetched while the used heap
+	 * exceeds this ratio of the maximum heap. Default is 0.75.
+	 * 
+	 * @param ratio
+	 * 			The ratio of the maximum heap above which no act is prefetched. Must be in [0,1].
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public NavigationPredictor setHeapLimit(double ratio) {
+		if( ratio < 0 || ratio > 1 )
+			throw new IllegalArgumentException("The heap limit must be in [0,1]: " + ratio);
+		
+		this.heapLimit = ratio;
+		return this;
+	}
+	
+	/** @return the number of acts put on stage that had been prefetched */
+	public long getHits() {
+		return outcomes.hits();
+	}
+	
+	/** @return the number of acts put on stage that had to be loaded on demand */
+	public long getMisses() {
+		return outcomes.misses();
+	}
+	
+	/** @return the number of prefetched acts removed without being shown */
+	public long getWasted() {
+		return outcomes.wasted();
+	}
+	
+	/** @return the ratio of hits among the acts put on stage after being loaded; 0 if none */
+	public double getHitRatio() {
+		long total = outcomes.hits() + outcomes.misses();
+		return total == 0 ? 0 : outcomes.hits() / (double) total;
+	}
+	
+	/**
+	 * Returns the acts that most often followed a given one, from the most to the least frequent.
+	 * 
+	 * @param name
+	 * 			The name of the previous act.
+	 * @param max
+	 * 			The maximum number of acts to return.
+	 * 
+	 * @return the names of the acts that most often followed {@code name}
+	 */
+	public List <String> getLikelyNextActs(String name, int max) {
+		return graph.likelyNextActs(name, max);
+	}
+	
+	@Override
+	public void actLoaded(String name, URL location, Duration duration) {
+		graph.located(name, play.isIsolated(name) ? null : location);
+		outcomes.loaded(name, play.isPrefetched(name));
+	}
+	
+	@Override
+	public void actShown(String name, Scene scene) {
+		outcomes.shown(name);
+		
+		if( current != null )
+			graph.followed(current, name);
+		
+		current = name;
+		idle.playFromStart();
+	}
+	
+	@Override
+	public void actRemoved(String name) {
+		outcomes.removed(name);
+	}
+	
+	/** Prefetches the acts that most often followed the current one */
+	private void prefetch() {
+		if( current == null )
+			return;
+		
+		List <String> likely = getLikelyNextActs(current, maxPrefetched);
+		
+		for( String name : outcomes.requested() ) {
+			if( ! likely.contains(name) ) {
+				outcomes.cancelled(name);
+				play.cancelPrefetch(name);
+			}
+		}
+		
+		for( String name : likely ) {
+			URL location = graph.locationOf(name);
+			
+			if( location == null || outcomes.isRequested(name) || play.getLocation(name).isPresent() || play.isIsolated(name) )
+				continue;
+			
+			if( isOverHeapLimit() )
+				break;
+			
+			outcomes.requested(name);
+			play.prefetch(name, location);
+		}
+	}
+	
+	private boolean isOverHeapLimit() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = runtime.totalMemory() - runtime.freeMemory();
+		return used > heapLimit * runtime.maxMemory();
+	}
+	
+	/**
+	 * Saves the navigation graph.
+	 * 
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void save() throws IOException {
+		graph.save(file);
+	}
+	
+	private void saveQuietly() {
+		try {
+			save();
+			
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Failed to save the navigation graph in {0} : {1}", new Object[] {file, e});
+		}
+	}
+	
+	/** Restores the navigation graph saved by a previous session; starts from scratch if it cannot be read */
+	private void restore() {
+		if( ! Files.isRegularFile(file) )
+			return;
+		
+		try {
+			graph.restore(file);
+			
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Ignoring the navigation graph {0} : {1}", new Object[] {file, e});
+		}
+	}
+
+}
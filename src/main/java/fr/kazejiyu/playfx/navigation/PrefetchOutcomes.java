@@ -0,0 +1,115 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.navigation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tells whether the acts prefetched by a {@link NavigationPredictor} are actually put on stage.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+final class PrefetchOutcomes {
+	
+	/** Acts whose prefetch has been requested, and that have not been shown yet */
+	private final Set <String> requested = new HashSet<>();
+	
+	/** Acts actually prefetched and not shown yet */
+	private final Set <String> prefetched = new HashSet<>();
+	
+	/** Acts loaded on demand and not shown yet */
+	private final Set <String> loadedOnDemand = new HashSet<>();
+	
+	private long hits;
+	private long misses;
+	private long wasted;
+	
+	/** Called when the prefetch of an act is requested */
+	void requested(String name) {
+		requested.add(name);
+	}
+	
+	/** Called when the prefetch of an act is cancelled */
+	void cancelled(String name) {
+		requested.remove(name);
+	}
+	
+	/** @return whether the prefetch of an act has been requested, and the act not shown yet */
+	boolean isRequested(String name) {
+		return requested.contains(name);
+	}
+	
+	/** @return the acts whose prefetch has been requested, and that have not been shown yet */
+	List <String> requested() {
+		return new ArrayList<>(requested);
+	}
+	
+	/**
+	 * Called when an act is loaded.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * @param byPrefetch
+	 * 			Whether the act has been loaded by a prefetch.
+	 */
+	void loaded(String name, boolean byPrefetch) {
+		if( byPrefetch ) {
+			if( requested.contains(name) )
+				prefetched.add(name);
+		}
+		else {
+			// a pending prefetch may have been overtaken by the act's preparation
+			requested.remove(name);
+			loadedOnDemand.add(name);
+		}
+	}
+	
+	/** Called when an act is put on stage */
+	void shown(String name) {
+		requested.remove(name);
+		
+		if( prefetched.remove(name) )
+			++hits;
+		
+		else if( loadedOnDemand.remove(name) )
+			++misses;
+	}
+	
+	/** Called when an act is removed */
+	void removed(String name) {
+		requested.remove(name);
+		
+		if( prefetched.remove(name) )
+			++wasted;
+		
+		loadedOnDemand.remove(name);
+	}
+	
+	long hits() {
+		return hits;
+	}
+	
+	long misses() {
+		return misses;
+	}
+	
+	long wasted() {
+		return wasted;
+	}
+
+}
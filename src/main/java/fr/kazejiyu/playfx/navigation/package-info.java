@@ -0,0 +1,4 @@
+/**
+ * Classes used to anticipate the navigation between acts.
+ */
+package fr.kazejiyu.playfx.navigation;
\ No newline at end of file
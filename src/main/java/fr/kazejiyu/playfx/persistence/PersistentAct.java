@@ -0,0 +1,66 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import fr.kazejiyu.playfx.Act;
+import fr.kazejiyu.playfx.Play;
+
+/**
+ * A controller which state can be saved to disk and restored on next launch. <br>
+ * <br>
+ * This interface is intended to be implemented by controllers loaded by {@link Play}.
+ * When the persistence of states is {@link Play#persistStatesIn(java.nio.file.Path) enabled},
+ * the state of the act is restored right after {@link Act#prepare(Play, javafx.scene.Scene)}
+ * and saved when the act is removed or when the play ends.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public interface PersistentAct {
+	
+	/**
+	 * Returns the version of the format used to save the state. <br>
+	 * <br>
+	 * The version must be changed each time the format of the state changes: 
+	 * snapshots saved with another version are rejected.
+	 * 
+	 * @return the version of the format used to save the state.
+	 */
+	int getStateVersion();
+	
+	/**
+	 * Saves the state of the act.
+	 * 
+	 * @param out
+	 * 			Where to write the state.
+	 * 
+	 * @throws IOException if the state cannot be written.
+	 */
+	void saveState(DataOutput out) throws IOException;
+	
+	/**
+	 * Restores the state of the act.
+	 * 
+	 * @param in
+	 * 			Where to read the state. Provides the data written by {@link #saveState(DataOutput)}.
+	 * 
+	 * @throws IOException if the state cannot be read.
+	 */
+	void restoreState(DataInput in) throws IOException;
+
+}
@@ -0,0 +1,205 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.persistence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import fr.kazejiyu.playfx.persistence.internal.SafeFiles;
+
+/**
+ * Stores snapshots of {@link PersistentAct}s' state in a directory. <br>
+ * <br>
+ * Each act is saved into its own file, made of a small header followed by the state of the act.
+ * The header identifies the class of the controller and the version of its state, so that
+ * snapshots saved by another controller or another version are rejected (and deleted). <br>
+ * <br>
+ * Snapshots are written to a temporary file first, then moved over the previous one, 
+ * so that a crash never leaves a truncated snapshot behind.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class SnapshotStore {
+	
+	/** Identifies PlayFX's snapshots */
+	private static final int MAGIC = 0x50465853; // PFXS
+	
+	/** The version of the layout of the snapshots */
+	private static final short FORMAT_VERSION = 1;
+	
+	private static final String EXTENSION = ".snapshot";
+	
+	/** Where the snapshots are stored */
+	private final Path directory;
+	
+	/**
+	 * Creates a new store.
+	 * 
+	 * @param directory
+	 * 			Where the snapshots are stored. Created if missing.
+	 */
+	public SnapshotStore(Path directory) {
+		this.directory = requireNonNull(directory);
+	}
+	
+	/**
+	 * Saves the state of an act.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * @param act
+	 * 			The act to save.
+	 * 
+	 * @throws IOException if the snapshot cannot be written.
+	 */
+	public void save(String name, PersistentAct act) throws IOException {
+		ByteArrayOutputStream state = new ByteArrayOutputStream();
+		act.saveState(new DataOutputStream(state));
+		
+		ByteArrayOutputStream snapshot = new ByteArrayOutputStream(state.size() + 64);
+		
+		try( DataOutputStream out = new DataOutputStream(snapshot) ) {
+			out.writeInt(MAGIC);
+			out.writeShort(FORMAT_VERSION);
+			out.writeUTF(act.getClass().getName());
+			out.writeInt(act.getStateVersion());
+			out.writeInt(state.size());
+			state.writeTo(out);
+		}
+		
+		SafeFiles.write(fileOf(name), snapshot.toByteArray(), EXTENSION);
+	}
+	
+	/**
+	 * Restores the state of an act. <br>
+	 * <br>
+	 * If the snapshot has been saved by another class or with another version
+	 * of the state, it is deleted and the act is left untouched.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * @param act
+	 * 			The act to restore.
+	 * 
+	 * @return whether the state of the act has been restored.
+	 * 
+	 * @throws IOException if the snapshot cannot be read.
+	 */
+	public boolean restore(String name, PersistentAct act) throws IOException {
+		Path file = fileOf(name);
+		
+		if( ! Files.isRegularFile(file) )
+			return false;
+		
+		// Snapshots are small: reading them at once avoids keeping a mapping 
+		// that would prevent the file from being deleted or replaced on Windows
+		ByteBuffer state = stateOf(ByteBuffer.wrap(Files.readAllBytes(file)), act);
+		
+		if( state == null ) {
+			delete(name);
+			return false;
+		}
+		
+		act.restoreState(new DataInputStream(new ByteBufferInputStream(state)));
+		return true;
+	}
+	
+	/**
+	 * Deletes the snapshot of an act, if any.
+	 * 
+	 * @param name
+	 * 			The name of the act.
+	 * 
+	 * @throws IOException if the snapshot cannot be deleted.
+	 */
+	public void delete(String name) throws IOException {
+		Files.deleteIfExists(fileOf(name));
+	}
+	
+	/** @return the state stored in {@code snapshot}, or null if the snapshot is stale or corrupted */
+	private static ByteBuffer stateOf(ByteBuffer snapshot, PersistentAct act) {
+		try {
+			if( snapshot.getInt() != MAGIC || snapshot.getShort() != FORMAT_VERSION )
+				return null;
+			
+			byte[] className = new byte[snapshot.getShort() & 0xFFFF];
+			snapshot.get(className);
+			
+			// writeUTF uses modified UTF-8, which matches UTF-8 for class names
+			if( ! act.getClass().getName().equals(new String(className, StandardCharsets.UTF_8)) )
+				return null;
+			
+			if( snapshot.getInt() != act.getStateVersion() )
+				return null;
+			
+			int length = snapshot.getInt();
+			
+			if( length != snapshot.remaining() )
+				return null;
+			
+			return snapshot.slice();
+			
+		} catch(RuntimeException e) {
+			// the snapshot is truncated
+			return null;
+		}
+	}
+	
+	private Path fileOf(String name) throws UnsupportedEncodingException {
+		return directory.resolve(URLEncoder.encode(name, "UTF-8") + EXTENSION);
+	}
+	
+	/** Reads the content of a buffer */
+	private static final class ByteBufferInputStream extends InputStream {
+		
+		private final ByteBuffer buffer;
+		
+		private ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+		
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if( ! buffer.hasRemaining() )
+				return -1;
+			
+			int read = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, read);
+			return read;
+		}
+		
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+
+}
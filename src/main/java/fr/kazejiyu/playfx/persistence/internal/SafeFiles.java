@@ -0,0 +1,74 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.persistence.internal;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes files so that readers never see them half-written. <br>
+ * <br>
+ * The content is first written in a temporary file of the same directory,
+ * which then replaces the target, atomically if the file system supports it.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class SafeFiles {
+	
+	private SafeFiles() {
+		// utility class
+	}
+	
+	/**
+	 * Replaces the content of a file, creating its parent directories if needed.
+	 * 
+	 * @param file
+	 * 			The file to write.
+	 * @param content
+	 * 			The new content of the file.
+	 * @param suffix
+	 * 			The suffix of the temporary file.
+	 * 
+	 * @throws IOException if the file cannot be written.
+	 */
+	public static void write(Path file, byte[] content, String suffix) throws IOException {
+		Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		
+		Path temp = Files.createTempFile(directory, null, suffix);
+		
+		try {
+			Files.write(temp, content);
+			replace(temp, file);
+			
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+	
+	/** Moves {@code source} over {@code target}, atomically if the file system supports it */
+	private static void replace(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+}
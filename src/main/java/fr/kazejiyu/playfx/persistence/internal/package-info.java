@@ -0,0 +1,4 @@
+/**
+ * <strong>Internal</strong> classes used to persist PlayFX's files (<u>not API</u>). 
+ */
+package fr.kazejiyu.playfx.persistence.internal;
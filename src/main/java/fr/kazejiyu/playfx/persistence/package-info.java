@@ -0,0 +1,4 @@
+/**
+ * Classes used to persist the state of acts across launches of an application.
+ */
+package fr.kazejiyu.playfx.persistence;
\ No newline at end of file
@@ -0,0 +1,116 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.tracing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import fr.kazejiyu.playfx.tracing.TraceEvent.Kind;
+
+/**
+ * The result of the replay of a navigation trace.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see TraceReplayer
+ */
+public final class ReplayReport {
+	
+	/** Replayed steps, in trace order */
+	private final List <Step> steps;
+	
+	ReplayReport(List <Step> steps) {
+		this.steps = Collections.unmodifiableList(new ArrayList<>(steps));
+	}
+	
+	/** @return the replayed steps, in trace order */
+	public List <Step> getSteps() {
+		return steps;
+	}
+	
+	/** @return the sum of the latencies of all the steps */
+	public Duration getTotalLatency() {
+		Duration total = Duration.ZERO;
+		
+		for( Step step : steps )
+			total = total.plus(step.getLatency());
+		
+		return total;
+	}
+	
+	/** @return a table listing, for each step, its recorded and replayed latencies and its heap delta */
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("%-8s %-32s %12s %12s %14s%n", "STEP", "ACT", "RECORDED", "REPLAYED", "HEAP DELTA"));
+		
+		for( Step step : steps ) {
+			TraceEvent event = step.getEvent();
+			String recorded = event.getKind() == Kind.PREPARE ? millis(event.getLoadTime()) : "-";
+			
+			report.append(String.format("%-8s %-32s %12s %12s %11d KiB%n", 
+					event.getKind(), event.getName(), recorded, millis(step.getLatency()), step.getHeapDelta() / 1024));
+		}
+		
+		report.append(String.format("Total: %s over %d steps%n", millis(getTotalLatency()), steps.size()));
+		return report.toString();
+	}
+	
+	private static String millis(Duration duration) {
+		return String.format("%.2f ms", duration.toNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1));
+	}
+	
+	/** The replay of a single trace event */
+	public static final class Step {
+		
+		private final TraceEvent event;
+		
+		/** Time elapsed between the replay of the event and the next pulse */
+		private final Duration latency;
+		
+		/** Variation of the used heap, in bytes */
+		private final long heapDelta;
+		
+		Step(TraceEvent event, Duration latency, long heapDelta) {
+			this.event = event;
+			this.latency = latency;
+			this.heapDelta = heapDelta;
+		}
+		
+		/** @return the replayed event */
+		public TraceEvent getEvent() {
+			return event;
+		}
+		
+		/** @return the time elapsed between the replay of the event and the next pulse */
+		public Duration getLatency() {
+			return latency;
+		}
+		
+		/** @return the variation of the used heap during the step, in bytes; may be negative if a GC occurred */
+		public long getHeapDelta() {
+			return heapDelta;
+		}
+		
+		@Override
+		public String toString() {
+			return event + ": " + millis(latency) + ", " + heapDelta + " bytes";
+		}
+	}
+
+}
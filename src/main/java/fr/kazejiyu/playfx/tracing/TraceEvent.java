@@ -0,0 +1,170 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.tracing;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An entry of a navigation trace: a call made to the lifecycle of an act.
+ * 
+ * @author Emmanuel CHEBBI
+ * 
+ * @see TraceRecorder
+ * @see TraceReplayer
+ */
+public final class TraceEvent {
+	
+	/** Identifies PlayFX's traces */
+	static final int MAGIC = 0x50465854; // PFXT
+	
+	/** The version of the layout of the traces; version 1 did not record the class path of isolated acts */
+	static final short FORMAT_VERSION = 2;
+	
+	/** The lifecycle calls that can be traced */
+	public enum Kind {
+		/** The act has been prepared */
+		PREPARE,
+		/** The act has been put on stage */
+		SHOW,
+		/** The act has been freed from memory */
+		REMOVE
+	}
+	
+	private final Kind kind;
+	
+	/** Nanoseconds elapsed since the beginning of the recording */
+	private final long timestamp;
+	
+	/** The name of the act */
+	private final String name;
+	
+	/** The location of act's FXML file; null unless the act has been prepared */
+	private final URL location;
+	
+	/** The time taken to prepare the act; zero unless the act has been prepared */
+	private final Duration loadTime;
+	
+	/** The class path of the act; empty unless the act has been prepared in its own class loader */
+	private final List <URL> classpath;
+	
+	TraceEvent(Kind kind, long timestamp, String name, URL location, Duration loadTime) {
+		this(kind, timestamp, name, location, loadTime, Collections.emptyList());
+	}
+	
+	TraceEvent(Kind kind, long timestamp, String name, URL location, Duration loadTime, List <URL> classpath) {
+		this.kind = requireNonNull(kind);
+		this.timestamp = timestamp;
+		this.name = requireNonNull(name);
+		this.location = location;
+		this.loadTime = requireNonNull(loadTime);
+		this.classpath = Collections.unmodifiableList(new ArrayList<>(classpath));
+	}
+	
+	/** @return the kind of call traced */
+	public Kind getKind() {
+		return kind;
+	}
+	
+	/** @return the time elapsed since the beginning of the recording */
+	public Duration getTimestamp() {
+		return Duration.ofNanos(timestamp);
+	}
+	
+	/** @return the name of the act */
+	public String getName() {
+		return name;
+	}
+	
+	/** @return the location of act's FXML file, or {@code null} unless the act has been prepared */
+	public URL getLocation() {
+		return location;
+	}
+	
+	/** @return the time taken to prepare the act, or {@link Duration#ZERO} unless the act has been prepared */
+	public Duration getLoadTime() {
+		return loadTime;
+	}
+	
+	/** 
+	 * @return the locations of the classes and resources of the act, or an empty list unless the act 
+	 * 		   has been {@link fr.kazejiyu.playfx.Play#prepareIsolated(String, String, URL...) prepared in its own class loader}
+	 */
+	public List <URL> getClasspath() {
+		return classpath;
+	}
+	
+	/** @return whether the act has been prepared in its own class loader */
+	public boolean isIsolated() {
+		return ! classpath.isEmpty();
+	}
+	
+	void writeTo(DataOutput out) throws IOException {
+		out.writeByte(kind.ordinal());
+		out.writeLong(timestamp);
+		out.writeUTF(name);
+		
+		if( kind == Kind.PREPARE ) {
+			out.writeUTF(location.toExternalForm());
+			out.writeLong(loadTime.toNanos());
+			out.writeShort(classpath.size());
+			
+			for( URL entry : classpath )
+				out.writeUTF(entry.toExternalForm());
+		}
+	}
+	
+	/** 
+	 * @param version
+	 * 			The version of the layout of the trace.
+	 */
+	static TraceEvent readFrom(DataInput in, short version) throws IOException {
+		int ordinal = in.readUnsignedByte();
+		
+		if( ordinal >= Kind.values().length )
+			throw new IOException("Unknown trace event: " + ordinal);
+		
+		Kind kind = Kind.values()[ordinal];
+		long timestamp = in.readLong();
+		String name = in.readUTF();
+		
+		if( kind != Kind.PREPARE )
+			return new TraceEvent(kind, timestamp, name, null, Duration.ZERO);
+		
+		URL location = new URL(in.readUTF());
+		Duration loadTime = Duration.ofNanos(in.readLong());
+		List <URL> classpath = new ArrayList<>();
+		
+		if( version >= 2 ) {
+			for( int i = in.readUnsignedShort() ; i > 0 ; --i )
+				classpath.add(new URL(in.readUTF()));
+		}
+		return new TraceEvent(kind, timestamp, name, location, loadTime, classpath);
+	}
+	
+	@Override
+	public String toString() {
+		return kind + " " + name + " at " + getTimestamp();
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.tracing;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import fr.kazejiyu.playfx.Play;
+import fr.kazejiyu.playfx.PlayListener;
+import fr.kazejiyu.playfx.tracing.TraceEvent.Kind;
+import javafx.scene.Scene;
+
+/**
+ * Records the navigation of a {@link Play} into a trace file. <br>
+ * <br>
+ * Each time an act is prepared, shown or removed, a compact binary entry is appended 
+ * to the trace with its timestamp and, for prepared acts, the location of their FXML file, 
+ * the time taken to load them and, for isolated acts, their class path. Each entry is 
+ * flushed once written, so that the trace of an application closed without closing 
+ * the recorder is complete. The trace can then be replayed by a {@link TraceReplayer}, 
+ * typically to reproduce a slow navigation reported by a user or as a regression benchmark. <br>
+ * <br>
+ * If the trace cannot be written, the recording stops and the error is logged.
+ * 
+ * <pre>
+ * try( TraceRecorder recorder = TraceRecorder.start(play, Paths.get("navigation.trace")) ) {
+ *     // navigate
+ * }
+ * </pre>
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class TraceRecorder implements PlayListener, Closeable {
+	
+	/** The recorded play */
+	private final Play play;
+	
+	/** Where the trace is written; null once the recording is stopped */
+	private DataOutputStream out;
+	
+	/** The beginning of the recording, as given by {@link System#nanoTime()} */
+	private final long origin = System.nanoTime();
+	
+	private static final Logger LOGGER = Logger.getLogger(Play.class.getName());
+	
+	private TraceRecorder(Play play, DataOutputStream out) {
+		this.play = play;
+		this.out = out;
+	}
+	
+	/**
+	 * Starts recording the navigation of a play.
+	 * 
+	 * @param play
+	 * 			The play to record. Must not be {@code null}.
+	 * @param file
+	 * 			Where the trace is written. Replaced if it already exists.
+	 * 
+	 * @return a new recorder, to close once the recording is done
+	 * 
+	 * @throws IOException if the trace cannot be created.
+	 */
+	public static TraceRecorder start(Play play, Path file) throws IOException {
+		requireNonNull(play);
+		
+		Path directory = file.toAbsolutePath().getParent();
+		
+		if( directory != null )
+			Files.createDirectories(directory);
+		
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+		
+		try {
+			out.writeInt(TraceEvent.MAGIC);
+			out.writeShort(TraceEvent.FORMAT_VERSION);
+			out.writeLong(System.currentTimeMillis());
+			
+		} catch(IOException e) {
+			out.close();
+			throw e;
+		}
+		
+		TraceRecorder recorder = new TraceRecorder(play, out);
+		play.addListener(recorder);
+		return recorder;
+	}
+	
+	@Override
+	public void actLoaded(String name, URL location, Duration duration) {
+		record(new TraceEvent(Kind.PREPARE, elapsed(), name, location, duration, play.getIsolatedClasspath(name)));
+	}
+	
+	@Override
+	public void actShown(String name, Scene scene) {
+		record(new TraceEvent(Kind.SHOW, elapsed(), name, null, Duration.ZERO));
+	}
+	
+	@Override
+	public void actRemoved(String name) {
+		record(new TraceEvent(Kind.REMOVE, elapsed(), name, null, Duration.ZERO));
+	}
+	
+	/** Stops the recording and flushes the trace */
+	@Override
+	public synchronized void close() throws IOException {
+		play.removeListener(this);
+		
+		if( out == null )
+			return;
+		
+		try {
+			out.close();
+			
+		} finally {
+			out = null;
+		}
+	}
+	
+	private long elapsed() {
+		return System.nanoTime() - origin;
+	}
+	
+	private synchronized void record(TraceEvent event) {
+		if( out == null )
+			return;
+		
+		try {
+			event.writeTo(out);
+			out.flush();
+			
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Unable to record the navigation trace : {0}", new Object[] {e});
+			
+			try {
+				close();
+				
+			} catch (IOException ignored) {
+				// already reported
+			}
+		}
+	}
+
+}
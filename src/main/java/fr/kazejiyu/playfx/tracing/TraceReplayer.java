@@ -0,0 +1,264 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.tracing;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import fr.kazejiyu.playfx.Play;
+import fr.kazejiyu.playfx.tracing.ReplayReport.Step;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+/**
+ * Drives a {@link Play} through a navigation trace recorded by a {@link TraceRecorder}. <br>
+ * <br>
+ * The events of the trace are replayed one per pulse: acts are prepared (synchronously, 
+ * even if they were prepared in background when recorded, and in their own class loader 
+ * if they were isolated), shown and removed in the same order as during the recording. Each step is measured from the moment the event is 
+ * replayed to the beginning of the next pulse, hence includes the rendering of the resulting frame. 
+ * The variation of the used heap is measured as well. <br>
+ * <br>
+ * The replayer can be run as a standalone application, for instance in a headless 
+ * environment with Monocle ({@code -Dglass.platform=Monocle -Dmonocle.platform=Headless}):
+ * 
+ * <pre>
+ * java -cp &lt;application class path&gt; fr.kazejiyu.playfx.tracing.TraceReplayer navigation.trace
+ * </pre>
+ * 
+ * In this case, controllers are created without any custom instanciator. Applications relying 
+ * on one should replay the trace from their own {@code Application.start} instead.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class TraceReplayer {
+	
+	/** The play driven through the trace */
+	private final Play play;
+	
+	/**
+	 * Creates a new replayer.
+	 * 
+	 * @param play
+	 * 			The play to drive through traces. Must not be {@code null}.
+	 */
+	public TraceReplayer(Play play) {
+		this.play = requireNonNull(play);
+	}
+	
+	/**
+	 * Reads the events of a trace.
+	 * 
+	 * @param file
+	 * 			The trace to read.
+	 * 
+	 * @return the events of the trace, in recording order
+	 * 
+	 * @throws IOException if the file cannot be read or is not a trace.
+	 */
+	public static List <TraceEvent> read(Path file) throws IOException {
+		List <TraceEvent> events = new ArrayList<>();
+		
+		try( DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))) ) {
+			if( in.readInt() != TraceEvent.MAGIC )
+				throw new IOException(file + " is not a navigation trace");
+			
+			short version = in.readShort();
+			
+			if( version < 1 || version > TraceEvent.FORMAT_VERSION )
+				throw new IOException("Unsupported trace version: " + version);
+			
+			in.readLong(); // start of the recording
+			
+			while( true )
+				events.add(TraceEvent.readFrom(in, version));
+			
+		} catch(EOFException e) {
+			// end of the trace
+		}
+		return events;
+	}
+	
+	/**
+	 * Replays a trace file.
+	 * 
+	 * @param file
+	 * 			The trace to replay.
+	 * 
+	 * @return a future completed with the report of the replay, or completed exceptionally 
+	 * 		   if the trace cannot be read or if one of its steps fails.
+	 * 
+	 * @see #replay(List)
+	 */
+	public CompletableFuture <ReplayReport> replay(Path file) {
+		try {
+			return replay(read(file));
+			
+		} catch (IOException e) {
+			CompletableFuture <ReplayReport> failure = new CompletableFuture<>();
+			failure.completeExceptionally(e);
+			return failure;
+		}
+	}
+	
+	/**
+	 * Replays trace events, one per pulse. Can be called from any thread.
+	 * 
+	 * @param events
+	 * 			The events to replay.
+	 * 
+	 * @return a future completed with the report of the replay, or completed exceptionally 
+	 * 		   if one of the steps fails.
+	 */
+	public CompletableFuture <ReplayReport> replay(List <TraceEvent> events) {
+		Replay replay = new Replay(new ArrayList<>(events).iterator());
+		Platform.runLater(replay::start);
+		return replay.result;
+	}
+	
+	/** Replays a step of the trace at each pulse */
+	private final class Replay extends AnimationTimer {
+		
+		private final Iterator <TraceEvent> events;
+		private final List <Step> steps = new ArrayList<>();
+		private final CompletableFuture <ReplayReport> result = new CompletableFuture<>();
+		
+		/** The event replayed during the previous pulse; null if none */
+		private TraceEvent current;
+		private long start;
+		private long heapBefore;
+		
+		private Replay(Iterator <TraceEvent> events) {
+			this.events = events;
+		}
+		
+		@Override
+		public void handle(long now) {
+			if( current != null ) {
+				steps.add(new Step(current, Duration.ofNanos(System.nanoTime() - start), usedHeap() - heapBefore));
+				current = null;
+			}
+			
+			if( ! events.hasNext() ) {
+				stop();
+				result.complete(new ReplayReport(steps));
+				return;
+			}
+			
+			current = events.next();
+			heapBefore = usedHeap();
+			start = System.nanoTime();
+			
+			try {
+				perform(current);
+				
+			} catch(IOException | RuntimeException e) {
+				stop();
+				result.completeExceptionally(e);
+			}
+		}
+	}
+	
+	private void perform(TraceEvent event) throws IOException {
+		switch( event.getKind() ) {
+		case PREPARE: prepare(event); break;
+		case SHOW: play.setScene(event.getName()); break;
+		case REMOVE: play.removeScene(event.getName()); break;
+		default: throw new IllegalStateException("Unknown trace event: " + event);
+		}
+	}
+	
+	private void prepare(TraceEvent event) throws IOException {
+		if( ! event.isIsolated() ) {
+			play.prepare(event.getName(), event.getLocation());
+			return;
+		}
+		
+		List <URL> classpath = event.getClasspath();
+		play.prepareIsolated(event.getName(), resourceOf(event), classpath.toArray(new URL[0]));
+	}
+	
+	/** @return the name of the FXML file of an isolated act, relative to its class path */
+	private static String resourceOf(TraceEvent event) throws IOException {
+		String location = event.getLocation().toExternalForm();
+		
+		for( URL entry : event.getClasspath() ) {
+			String root = entry.toExternalForm();
+			String jar = "jar:" + root + "!/";
+			
+			if( location.startsWith(jar) )
+				return location.substring(jar.length());
+			
+			if( root.endsWith("/") && location.startsWith(root) )
+				return location.substring(root.length());
+		}
+		throw new IOException(location + " cannot be found in " + event.getClasspath());
+	}
+	
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+	
+	/**
+	 * Replays a trace file and prints the report on the standard output.
+	 * 
+	 * @param args
+	 * 			The path of the trace file.
+	 */
+	public static void main(String[] args) {
+		if( args.length == 0 ) {
+			System.err.println("Usage: TraceReplayer <trace file>");
+			System.exit(1);
+		}
+		Application.launch(Headless.class, args);
+	}
+	
+	/** The application used to replay a trace from the command line */
+	public static final class Headless extends Application {
+
+		@Override
+		public void start(Stage stage) {
+			Play play = new Play(stage);
+			play.show();
+			
+			new TraceReplayer(play).replay(Paths.get(getParameters().getRaw().get(0)))
+								   .whenComplete((report, error) -> {
+									   if( error != null )
+										   error.printStackTrace();
+									   else
+										   System.out.print(report);
+									   
+									   Platform.exit();
+								   });
+		}
+	}
+
+}
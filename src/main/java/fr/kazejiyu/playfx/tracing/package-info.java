@@ -0,0 +1,4 @@
+/**
+ * Classes used to record the navigation of a play and replay it as a benchmark.
+ */
+package fr.kazejiyu.playfx.tracing;
\ No newline at end of file
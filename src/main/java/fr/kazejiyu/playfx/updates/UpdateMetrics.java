@@ -0,0 +1,84 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.updates;
+
+/**
+ * A snapshot of the metrics of an {@link UpdateScheduler}.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class UpdateMetrics {
+	
+	private final long submitted;
+	private final long merged;
+	private final long dropped;
+	private final long applied;
+	private final long overruns;
+	private final int queueDepth;
+	private final int maxQueueDepth;
+	
+	UpdateMetrics(long submitted, long merged, long dropped, long applied, long overruns, int queueDepth, int maxQueueDepth) {
+		this.submitted = submitted;
+		this.merged = merged;
+		this.dropped = dropped;
+		this.applied = applied;
+		this.overruns = overruns;
+		this.queueDepth = queueDepth;
+		this.maxQueueDepth = maxQueueDepth;
+	}
+	
+	/** @return the number of updates submitted */
+	public long getSubmitted() {
+		return submitted;
+	}
+	
+	/** @return the number of updates merged into a pending update of the same key */
+	public long getMerged() {
+		return merged;
+	}
+	
+	/** @return the number of updates dropped because too many keys were pending */
+	public long getDropped() {
+		return dropped;
+	}
+	
+	/** @return the number of updates applied on the JavaFX Application Thread */
+	public long getApplied() {
+		return applied;
+	}
+	
+	/** @return the number of pulses that ran out of time before applying all pending updates */
+	public long getBudgetOverruns() {
+		return overruns;
+	}
+	
+	/** @return the number of keys currently waiting to be applied */
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+	
+	/** @return the greatest number of keys that have been waiting at the same time */
+	public int getMaxQueueDepth() {
+		return maxQueueDepth;
+	}
+	
+	@Override
+	public String toString() {
+		return "UpdateMetrics [submitted=" + submitted + ", merged=" + merged + ", dropped=" + dropped 
+			 + ", applied=" + applied + ", overruns=" + overruns + ", queueDepth=" + queueDepth 
+			 + ", maxQueueDepth=" + maxQueueDepth + "]";
+	}
+
+}
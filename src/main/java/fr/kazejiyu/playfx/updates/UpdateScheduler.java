@@ -0,0 +1,252 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.updates;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import fr.kazejiyu.playfx.Play;
+import fr.kazejiyu.playfx.concurrent.internal.PulseDrainer;
+
+/**
+ * Applies updates submitted from background threads on the JavaFX Application Thread. <br>
+ * <br>
+ * Each update is associated to a key, typically the identifier of the data it refreshes. 
+ * Updates submitted for a key that is already pending are merged with the pending one 
+ * (by default, the latest value wins), so that a feed updating thousands of times per second 
+ * only causes one update per key and per frame. <br>
+ * <br>
+ * Pending updates are applied once per pulse, in submission order, until the 
+ * {@link #setFrameBudget(Duration) frame budget} is exhausted; remaining updates 
+ * are applied during the next pulses. Input events can thus be handled between frames.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class UpdateScheduler {
+	
+	/** Time spent applying updates per pulse, by default */
+	private static final Duration DEFAULT_FRAME_BUDGET = Duration.ofMillis(8);
+	
+	/** The number of keys that can be pending at the same time, by default */
+	private static final int DEFAULT_MAX_PENDING_KEYS = 100_000;
+	
+	/** Pending updates, indexed by key */
+	private final Map <Object, Update<?>> pending = new ConcurrentHashMap<>();
+	
+	/** Keys of pending updates, in submission order */
+	private final Queue <Object> order = new ConcurrentLinkedQueue<>();
+	
+	private volatile long frameBudget = DEFAULT_FRAME_BUDGET.toNanos();
+	private volatile int maxPendingKeys = DEFAULT_MAX_PENDING_KEYS;
+	
+	/** Metrics */
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder merged = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder applied = new LongAdder();
+	private final LongAdder overruns = new LongAdder();
+	private final AtomicInteger depth = new AtomicInteger();
+	private final AtomicInteger maxDepth = new AtomicInteger();
+	
+	/** Ensures pending updates are applied; called each time a key becomes pending */
+	private final Runnable requestUpdates;
+	
+	private static final Logger LOGGER = Logger.getLogger(Play.class.getName());
+	
+	/** Creates a new scheduler, applying pending updates once per pulse */
+	public UpdateScheduler() {
+		PulseDrainer drainer = new PulseDrainer(new PulseDrainer.Drainable() {
+			
+			@Override
+			public void drain(long now) {
+				applyPendingUpdates();
+			}
+			
+			@Override
+			public boolean isEmpty() {
+				return order.isEmpty();
+			}
+		});
+		this.requestUpdates = drainer::request;
+	}
+	
+	/**
+	 * Creates a new scheduler whose pending updates are applied by {@link #applyPendingUpdates()}.
+	 * 
+	 * @param requestUpdates
+	 * 			Called each time a key becomes pending.
+	 */
+	UpdateScheduler(Runnable requestUpdates) {
+		this.requestUpdates = requireNonNull(requestUpdates);
+	}
+	
+	/**
+	 * Sets the time that can be spent applying updates during a single pulse.
+	 * 
+	 * @param budget
+	 * 			The time that can be spent applying updates per pulse. Must be positive.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public UpdateScheduler setFrameBudget(Duration budget) {
+		if( budget.isNegative() || budget.isZero() )
+			throw new IllegalArgumentException("The frame budget must be positive: " + budget);
+		
+		this.frameBudget = budget.toNanos();
+		return this;
+	}
+	
+	/**
+	 * Sets the number of keys that can be pending at the same time. <br>
+	 * <br>
+	 * Updates submitted for a new key while the limit is reached are dropped.
+	 * 
+	 * @param max
+	 * 			The number of keys that can be pending at the same time. Must be positive.
+	 * 
+	 * @return a reference to self, enabling method chaining
+	 */
+	public UpdateScheduler setMaxPendingKeys(int max) {
+		if( max <= 0 )
+			throw new IllegalArgumentException("The maximum number of pending keys must be positive: " + max);
+		
+		this.maxPendingKeys = max;
+		return this;
+	}
+	
+	/**
+	 * Submits an update. If an update is already pending for {@code key}, it is replaced. <br>
+	 * <br>
+	 * Can be called from any thread.
+	 * 
+	 * @param key
+	 * 			Identifies the data refreshed by the update.
+	 * @param value
+	 * 			The new value of the data.
+	 * @param apply
+	 * 			Applies the value, on the JavaFX Application Thread.
+	 * @param <T>
+	 * 			The type of the value.
+	 */
+	public <T> void submit(Object key, T value, Consumer <? super T> apply) {
+		submit(key, value, (previous, next) -> next, apply);
+	}
+	
+	/**
+	 * Submits an update. If an update is already pending for {@code key}, both are merged. <br>
+	 * <br>
+	 * Can be called from any thread.
+	 * 
+	 * @param key
+	 * 			Identifies the data refreshed by the update.
+	 * @param value
+	 * 			The new value of the data.
+	 * @param merge
+	 * 			Merges the pending value with the new one.
+	 * @param apply
+	 * 			Applies the value, on the JavaFX Application Thread. 
+	 * 			If the update is merged, the function given with the first update is used.
+	 * @param <T>
+	 * 			The type of the value.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> void submit(Object key, T value, BinaryOperator <T> merge, Consumer <? super T> apply) {
+		requireNonNull(key);
+		requireNonNull(merge);
+		requireNonNull(apply);
+		submitted.increment();
+		
+		if( depth.get() >= maxPendingKeys && ! pending.containsKey(key) ) {
+			dropped.increment();
+			return;
+		}
+		
+		// Loops in case the pending update is applied between both look ups
+		do {
+			if( pending.computeIfPresent(key, (k, existing) -> ((Update<T>) existing).merge(value, merge)) != null ) {
+				merged.increment();
+				return;
+			}
+		} while( pending.putIfAbsent(key, new Update<>(value, apply)) != null );
+		
+		maxDepth.accumulateAndGet(depth.incrementAndGet(), Math::max);
+		order.offer(key);
+		requestUpdates.run();
+	}
+	
+	/** @return a snapshot of scheduler's metrics */
+	public UpdateMetrics getMetrics() {
+		return new UpdateMetrics(submitted.sum(), merged.sum(), dropped.sum(), applied.sum(), 
+								 overruns.sum(), depth.get(), maxDepth.get());
+	}
+	
+	/** Applies pending updates until the frame budget is exhausted */
+	void applyPendingUpdates() {
+		long start = System.nanoTime();
+		Object key;
+		
+		while( (key = order.poll()) != null ) {
+			Update <?> update = pending.remove(key);
+			depth.decrementAndGet();
+			
+			try {
+				update.apply();
+				applied.increment();
+				
+			} catch(RuntimeException e) {
+				LOGGER.log(Level.SEVERE, "Failed to apply update {0} : {1}", new Object[] {key, e});
+			}
+			
+			if( System.nanoTime() - start > frameBudget ) {
+				if( ! order.isEmpty() )
+					overruns.increment();
+				
+				return;
+			}
+		}
+	}
+	
+	/** A pending update */
+	private static final class Update <T> {
+		
+		private final T value;
+		private final Consumer <? super T> apply;
+		
+		private Update(T value, Consumer <? super T> apply) {
+			this.value = value;
+			this.apply = apply;
+		}
+		
+		private Update <T> merge(T next, BinaryOperator <T> merge) {
+			return new Update<>(merge.apply(value, next), apply);
+		}
+		
+		private void apply() {
+			apply.accept(value);
+		}
+	}
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Classes used to apply high-frequency background updates on the JavaFX Application Thread.
+ */
+package fr.kazejiyu.playfx.updates;
\ No newline at end of file
@@ -0,0 +1,50 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.concurrent.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executors that run PlayFX's blocking background work,
+ * such as loading FXML files or resolving injected values. <br>
+ * <br>
+ * This implementation starts a new virtual thread per task, so that hundreds of
+ * blocking loads can run concurrently without sizing a pool of platform threads.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public final class BackgroundThreads {
+	
+	private BackgroundThreads() {
+		// utility class
+	}
+	
+	/**
+	 * Creates a new executor suited to blocking tasks. <br>
+	 * <br>
+	 * Each task runs in its own virtual thread, hence the executor 
+	 * does not have to be shut down.
+	 * 
+	 * @param name
+	 * 			Used to name the threads of the executor.
+	 * 
+	 * @return a new executor suited to blocking tasks.
+	 */
+	public static ExecutorService newExecutor(String name) {
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("playfx-" + name + "-", 1).factory());
+	}
+
+}
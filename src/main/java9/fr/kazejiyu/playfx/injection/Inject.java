@@ -1,15 +0,0 @@
-package fr.kazejiyu.playfx.injection;
-
-import static java.lang.annotation.ElementType.FIELD;
-import static java.lang.annotation.RetentionPolicy.RUNTIME;
-
-import java.lang.annotation.Documented;
-import java.lang.annotation.Retention;
-import java.lang.annotation.Target;
-
-@Documented
-@Retention(RUNTIME)
-@Target(FIELD)
-public @interface Inject {
-	String name() default "";
-}
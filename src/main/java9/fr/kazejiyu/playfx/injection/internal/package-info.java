@@ -1,4 +0,0 @@
-/**
- * Internal classes used to inject dependencies into JavaFX controllers (not API!). 
- */
-package fr.kazejiyu.playfx.injection.internal;
\ No newline at end of file
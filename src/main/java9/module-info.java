@@ -2,6 +2,8 @@ module fr.kazejiyu.playfx {
 	// JDK 9
 	requires java.base;
 	requires java.logging;
+	requires java.management;
+	requires java.xml;
 	
 	// JavaFX
 	requires javafx.fxml;
@@ -9,6 +11,16 @@ module fr.kazejiyu.playfx {
 	
 	// Exported packages
 	exports fr.kazejiyu.playfx;
+	exports fr.kazejiyu.playfx.configuration;
+	exports fr.kazejiyu.playfx.events;
 	exports fr.kazejiyu.playfx.exceptions;
+	exports fr.kazejiyu.playfx.images;
 	exports fr.kazejiyu.playfx.injection;
+	exports fr.kazejiyu.playfx.launcher;
+	exports fr.kazejiyu.playfx.localization;
+	exports fr.kazejiyu.playfx.monitoring;
+	exports fr.kazejiyu.playfx.navigation;
+	exports fr.kazejiyu.playfx.persistence;
+	exports fr.kazejiyu.playfx.tracing;
+	exports fr.kazejiyu.playfx.updates;
 }
\ No newline at end of file
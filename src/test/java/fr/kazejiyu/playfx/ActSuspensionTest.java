@@ -0,0 +1,126 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx;
+
+import java.time.Duration;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests how an {@link ActSuspension} suspends the work of an act and measures its idle time.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class ActSuspensionTest extends TestCase {
+	
+	private final ActSuspension suspension = new ActSuspension();
+	
+	private final Work work = new Work();
+	
+	@Override
+	protected void setUp() {
+		suspension.add(work);
+	}
+	
+	public void testWorkIsSuspendedWhenHiddenIfAsked() {
+		suspension.shown();
+		suspension.hidden(true);
+		
+		assertEquals(1, work.suspended);
+	}
+	
+	public void testWorkKeepsRunningWhenHiddenOtherwise() {
+		suspension.shown();
+		suspension.hidden(false);
+		
+		assertEquals(0, work.suspended);
+	}
+	
+	public void testWorkIsResumedOnceShown() {
+		suspension.hidden(true);
+		suspension.shown();
+		
+		assertEquals(1, work.suspended);
+		assertEquals(1, work.resumed);
+	}
+	
+	public void testWorkIsSuspendedAndResumedOnce() {
+		suspension.hidden(true);
+		suspension.hidden(true);
+		suspension.shown();
+		suspension.shown();
+		
+		assertEquals(1, work.suspended);
+		assertEquals(1, work.resumed);
+	}
+	
+	public void testWorkIsNotResumedUnlessSuspended() {
+		suspension.shown();
+		
+		assertEquals(0, work.resumed);
+	}
+	
+	public void testDisposedWorkIsSuspendedAndForgotten() {
+		suspension.shown();
+		suspension.dispose();
+		suspension.hidden(true);
+		suspension.shown();
+		
+		assertEquals(1, work.suspended);
+		assertEquals(0, work.resumed);
+	}
+	
+	public void testIdleTimeGrowsOnlyWhileHidden() throws InterruptedException {
+		Thread.sleep(20);
+		suspension.shown();
+		
+		Duration idle = suspension.idleTime();
+		assertTrue("idle time: " + idle, idle.toMillis() >= 20);
+		
+		Thread.sleep(20);
+		
+		assertEquals(idle, suspension.idleTime());
+	}
+	
+	public void testIdleTimeAddsUpHiddenPeriods() throws InterruptedException {
+		suspension.shown();
+		suspension.hidden(false);
+		Thread.sleep(20);
+		suspension.shown();
+		suspension.hidden(false);
+		Thread.sleep(20);
+		
+		Duration idle = suspension.idleTime();
+		assertTrue("idle time: " + idle, idle.toMillis() >= 40);
+	}
+	
+	/** Counts how many times it has been suspended and resumed */
+	private static final class Work implements Suspendable {
+		
+		private int suspended;
+		private int resumed;
+
+		@Override
+		public void suspend() {
+			++suspended;
+		}
+
+		@Override
+		public void resume() {
+			++resumed;
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests how an {@link ActWatcher} reports the acts whose files changed.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class ActWatcherTest extends TestCase {
+	
+	private static final Duration DEBOUNCE = Duration.ofMillis(300);
+	
+	/** The acts reported by the watcher, one set per reload */
+	private final BlockingQueue <Set<String>> reloads = new LinkedBlockingQueue<>();
+	
+	private ActWatcher watcher;
+	
+	private Path directory;
+	private Path fxml;
+	private Path css;
+	
+	@Override
+	protected void setUp() throws IOException {
+		directory = Files.createTempDirectory("playfx");
+		fxml = Files.createFile(directory.resolve("orders.fxml"));
+		css = Files.createFile(directory.resolve("common.css"));
+		
+		watcher = new ActWatcher(reloads::add, DEBOUNCE, Runnable::run);
+		watcher.watch("orders", url(fxml), url(css));
+		watcher.watch("reports", url(css));
+	}
+	
+	@Override
+	protected void tearDown() throws IOException {
+		watcher.close();
+		
+		try( Stream <Path> files = Files.list(directory) ) {
+			for( Path file : (Iterable<Path>) files::iterator )
+				Files.delete(file);
+		}
+		Files.delete(directory);
+	}
+	
+	private static URL url(Path file) throws IOException {
+		return file.toUri().toURL();
+	}
+	
+	private static void touch(Path file) throws IOException {
+		Files.write(file, Long.toString(System.nanoTime()).getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private Set <String> nextReload() throws InterruptedException {
+		return reloads.poll(10, TimeUnit.SECONDS);
+	}
+	
+	private Set <String> noReload() throws InterruptedException {
+		return reloads.poll(DEBOUNCE.toMillis() * 3, TimeUnit.MILLISECONDS);
+	}
+	
+	public void testChangedActsAreReported() throws IOException, InterruptedException {
+		touch(fxml);
+		
+		assertEquals(Collections.singleton("orders"), nextReload());
+	}
+	
+	public void testBurstOfChangesCausesASingleReload() throws IOException, InterruptedException {
+		touch(fxml);
+		Thread.sleep(DEBOUNCE.toMillis() / 4);
+		touch(css);
+		Thread.sleep(DEBOUNCE.toMillis() / 4);
+		touch(fxml);
+		
+		assertEquals(new HashSet<>(Arrays.asList("orders", "reports")), nextReload());
+		assertNull(noReload());
+	}
+	
+	public void testUnwatchedActsAreNotReported() throws IOException, InterruptedException {
+		watcher.unwatch("reports");
+		touch(css);
+		
+		assertEquals(Collections.singleton("orders"), nextReload());
+	}
+	
+	public void testUnrelatedFilesAreIgnored() throws IOException, InterruptedException {
+		touch(directory.resolve("unrelated.txt"));
+		
+		assertNull(noReload());
+	}
+	
+	public void testResourcesOutsideTheFileSystemAreIgnored() throws IOException, InterruptedException {
+		watcher.watch("plugin", new URL("jar:file:/plugins/reports.jar!/reports.fxml"), null);
+		touch(fxml);
+		
+		assertEquals(Collections.singleton("orders"), nextReload());
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the documents and the locations shared by the plays of a {@link Theatre}.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class TheatreTest extends TestCase {
+	
+	private final Theatre theatre = new Theatre();
+	
+	private Path first;
+	private Path second;
+	
+	@Override
+	protected void setUp() throws IOException {
+		first = Files.createTempFile("playfx", ".fxml");
+		second = Files.createTempFile("playfx", ".fxml");
+		
+		write(first, "<first/>");
+		write(second, "<second/>");
+	}
+	
+	@Override
+	protected void tearDown() throws IOException {
+		Files.deleteIfExists(first);
+		Files.deleteIfExists(second);
+	}
+	
+	private static void write(Path file, String content) throws IOException {
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private String document(Path file) throws IOException {
+		return new String(theatre.document(file.toUri().toURL()), StandardCharsets.UTF_8);
+	}
+	
+	public void testDocumentsAreReadEachTimeByDefault() throws IOException {
+		assertEquals("<first/>", document(first));
+		
+		write(first, "<changed/>");
+		
+		assertEquals("<changed/>", document(first));
+	}
+	
+	public void testCachedDocumentsAreNotReadAgain() throws IOException {
+		theatre.setDocumentCacheSize(2);
+		assertEquals("<first/>", document(first));
+		
+		write(first, "<changed/>");
+		
+		assertEquals("<first/>", document(first));
+	}
+	
+	public void testForgottenDocumentsAreReadAgain() throws IOException {
+		theatre.setDocumentCacheSize(2);
+		document(first);
+		
+		write(first, "<changed/>");
+		theatre.forget(first.toUri().toURL());
+		
+		assertEquals("<changed/>", document(first));
+	}
+	
+	public void testLeastRecentlyUsedDocumentIsEvicted() throws IOException {
+		theatre.setDocumentCacheSize(1);
+		document(first);
+		document(second);
+		
+		write(first, "<changed/>");
+		write(second, "<changed/>");
+		
+		assertEquals("<changed/>", document(first));
+		assertEquals("<changed/>", document(second));
+	}
+	
+	public void testShrinkingTheCacheEvictsDocuments() throws IOException {
+		theatre.setDocumentCacheSize(2);
+		document(first);
+		document(second);
+		
+		theatre.setDocumentCacheSize(1);
+		write(first, "<changed/>");
+		write(second, "<changed/>");
+		
+		assertEquals("<second/>", document(second));
+		assertEquals("<changed/>", document(first));
+	}
+	
+	public void testNegativeCacheSizeIsRejected() {
+		try {
+			theatre.setDocumentCacheSize(-1);
+			fail("Expected a negative size to be rejected");
+			
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+	
+	public void testLocationIsForgottenOnceNoPlayHoldsIt() throws IOException {
+		URL location = first.toUri().toURL();
+		theatre.prepared("orders", location);
+		
+		assertEquals(location, theatre.getLocation("orders").orElse(null));
+		
+		theatre.removed("orders");
+		
+		assertFalse(theatre.getLocation("orders").isPresent());
+	}
+
+}
@@ -0,0 +1,176 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.configuration;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the default {@link Converters} and the conversions made by {@link SerializedProperties}.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class ConvertersTest extends TestCase {
+	
+	private Converters converters;
+	
+	@Override
+	protected void setUp() {
+		converters = Converters.defaults();
+	}
+	
+	private <T> T convert(Class <T> type, String value) {
+		return converters.find(type).get().convert(value);
+	}
+	
+	public void testPrimitivesRoundTrip() {
+		assertEquals(Boolean.TRUE, convert(boolean.class, String.valueOf(true)));
+		assertEquals(Character.valueOf('x'), convert(char.class, String.valueOf('x')));
+		assertEquals(Byte.valueOf(Byte.MIN_VALUE), convert(byte.class, String.valueOf(Byte.MIN_VALUE)));
+		assertEquals(Short.valueOf(Short.MAX_VALUE), convert(Short.class, String.valueOf(Short.MAX_VALUE)));
+		assertEquals(Integer.valueOf(-42), convert(int.class, String.valueOf(-42)));
+		assertEquals(Long.valueOf(Long.MAX_VALUE), convert(Long.class, String.valueOf(Long.MAX_VALUE)));
+		assertEquals(Float.valueOf(1.5f), convert(float.class, String.valueOf(1.5f)));
+		assertEquals(Double.valueOf(Math.PI), convert(Double.class, String.valueOf(Math.PI)));
+	}
+	
+	public void testValuesAreTrimmed() {
+		assertEquals(Integer.valueOf(12), convert(Integer.class, " 12 "));
+		assertEquals(Boolean.FALSE, convert(Boolean.class, " FALSE "));
+	}
+	
+	public void testDurationRoundTrip() {
+		Duration duration = Duration.ofMillis(2_500);
+		assertEquals(duration, convert(Duration.class, duration.toString()));
+	}
+	
+	public void testDurationWithUnitSuffix() {
+		assertEquals(Duration.ofMillis(250), convert(Duration.class, "250ms"));
+		assertEquals(Duration.ofSeconds(2), convert(Duration.class, "2s"));
+		assertEquals(Duration.ofMinutes(5), convert(Duration.class, "5m"));
+		assertEquals(Duration.ofHours(1), convert(Duration.class, "1h"));
+		assertEquals(Duration.ofDays(3), convert(Duration.class, "3d"));
+	}
+	
+	public void testPathAndUrlRoundTrip() throws IOException {
+		assertEquals(Paths.get("some", "dir"), convert(java.nio.file.Path.class, Paths.get("some", "dir").toString()));
+		
+		URL url = new URL("https://example.com/playfx?q=1");
+		assertEquals(url.toExternalForm(), convert(URL.class, url.toExternalForm()).toExternalForm());
+	}
+	
+	public void testEnumRoundTrip() {
+		for( ChronoUnit unit : ChronoUnit.values() )
+			assertEquals(unit, convert(ChronoUnit.class, unit.name()));
+	}
+	
+	public void testEnumConverterIsReused() {
+		assertSame(converters.find(ChronoUnit.class).get(), converters.find(ChronoUnit.class).get());
+	}
+	
+	public void testListOfIntegers() throws NoSuchFieldException {
+		Converter <?> converter = converters.find(Holder.class.getDeclaredField("integers").getGenericType()).get();
+		
+		assertEquals(Arrays.asList(1, 2, 3), converter.convert("1, 2,3"));
+		assertEquals(Collections.emptyList(), converter.convert(" "));
+	}
+	
+	public void testListOfListsIsNotCached() throws NoSuchFieldException {
+		java.lang.reflect.Type type = Holder.class.getDeclaredField("nested").getGenericType();
+		
+		assertEquals(Arrays.asList(Arrays.asList(ChronoUnit.DAYS)), converters.find(type).get().convert("DAYS"));
+		assertFalse(converters.find(type).get() == converters.find(type).get());
+	}
+	
+	public void testListConvertersFollowRegistrations() throws NoSuchFieldException {
+		java.lang.reflect.Type type = Holder.class.getDeclaredField("integers").getGenericType();
+		assertSame(converters.find(type).get(), converters.find(type).get());
+		
+		converters.register(Integer.class, value -> 7);
+		assertEquals(Arrays.asList(7, 7), converters.find(type).get().convert("1,2"));
+	}
+	
+	public void testRawListContainsStrings() {
+		assertEquals(Arrays.asList("a", "b"), converters.find((java.lang.reflect.Type) List.class).get().convert("a,b"));
+	}
+	
+	public void testRegisteredConverterReplacesDefault() {
+		converters.register(Integer.class, value -> 7);
+		assertEquals(Integer.valueOf(7), convert(Integer.class, "1"));
+	}
+	
+	public void testEmptyRegistryKnowsNothing() {
+		assertFalse(new Converters().find(String.class).isPresent());
+	}
+	
+	public void testInvalidValuesAreRejected() {
+		Class <?>[] types = { int.class, boolean.class, char.class, Duration.class, URL.class };
+		String[] invalids = { "twelve", "yes", "ab", "5y", "not an url" };
+		
+		for( int i = 0 ; i < types.length ; ++i ) {
+			try {
+				convert(types[i], invalids[i]);
+				fail("Expected " + invalids[i] + " to be rejected as " + types[i]);
+				
+			} catch(IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+	
+	public void testPropertiesCacheTheLastConversion() throws IOException {
+		SerializedProperties properties = new SerializedProperties(
+				new ByteArrayInputStream("timeout=30".getBytes(StandardCharsets.UTF_8)), converters);
+		properties.load();
+		
+		int[] conversions = { 0 };
+		Converter <String> counting = value -> {
+			conversions[0]++;
+			return value;
+		};
+		
+		assertEquals("30", properties.get("timeout", counting).get());
+		assertEquals("30", properties.get("timeout", counting).get());
+		assertEquals(1, conversions[0]);
+		
+		assertEquals(Integer.valueOf(30), properties.get("timeout", Integer.class).get());
+		assertEquals("30", properties.get("timeout", counting).get());
+		assertEquals(2, conversions[0]);
+		assertEquals(30, properties.getInt("timeout", 0));
+		assertEquals(30.0, properties.getDouble("timeout", 0), 0);
+		assertEquals(-1L, properties.getLong("missing", -1L));
+	}
+	
+	/** Declares generic types */
+	private static final class Holder {
+		
+		@SuppressWarnings("unused")
+		private List <Integer> integers;
+		
+		@SuppressWarnings("unused")
+		private List <List<ChronoUnit>> nested;
+	}
+
+}
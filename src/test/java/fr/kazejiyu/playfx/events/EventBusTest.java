@@ -0,0 +1,138 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests how the {@link EventBus} delivers events to its subscribers.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class EventBusTest extends TestCase {
+	
+	private static final Topic <String> ORDERS = Topic.of("orders", String.class);
+	private static final Topic <Integer> PRICE = Topic.conflated("price", Integer.class);
+	
+	/** The number of times the bus asked for its events to be delivered */
+	private int requests;
+	
+	private final EventBus bus = new EventBus(() -> ++requests);
+	
+	private final Object owner = new Object();
+	
+	public void testEventsAreDeliveredInPublicationOrder() {
+		List <String> received = new ArrayList<>();
+		bus.subscribe(owner, ORDERS, received::add);
+		
+		bus.publish(ORDERS, "first");
+		bus.publish(ORDERS, "second");
+		
+		assertTrue(received.isEmpty());
+		
+		bus.deliverPendingEvents();
+		
+		assertEquals(Arrays.asList("first", "second"), received);
+	}
+	
+	public void testConflatedTopicOnlyDeliversTheLatestEvent() {
+		List <Integer> received = new ArrayList<>();
+		bus.subscribe(owner, PRICE, received::add);
+		
+		bus.publish(PRICE, 1);
+		bus.publish(PRICE, 2);
+		bus.publish(PRICE, 3);
+		bus.deliverPendingEvents();
+		
+		assertEquals(Arrays.asList(3), received);
+		assertEquals(1, requests);
+	}
+	
+	public void testConflatedTopicDeliversAgainAfterABatch() {
+		List <Integer> received = new ArrayList<>();
+		bus.subscribe(owner, PRICE, received::add);
+		
+		bus.publish(PRICE, 1);
+		bus.deliverPendingEvents();
+		bus.publish(PRICE, 2);
+		bus.deliverPendingEvents();
+		
+		assertEquals(Arrays.asList(1, 2), received);
+	}
+	
+	public void testCancelledSubscriptionReceivesNothing() {
+		List <String> received = new ArrayList<>();
+		Subscription subscription = bus.subscribe(owner, ORDERS, received::add);
+		
+		bus.publish(ORDERS, "first");
+		subscription.cancel();
+		bus.deliverPendingEvents();
+		
+		assertTrue(received.isEmpty());
+	}
+	
+	public void testUnsubscribeAllOnlyCancelsTheSubscriptionsOfTheOwner() {
+		List <String> removed = new ArrayList<>();
+		List <String> kept = new ArrayList<>();
+		Object other = new Object();
+		
+		bus.subscribe(owner, ORDERS, removed::add);
+		bus.subscribe(owner, PRICE, price -> removed.add(price.toString()));
+		bus.subscribe(other, ORDERS, kept::add);
+		
+		bus.unsubscribeAll(owner);
+		bus.publish(ORDERS, "first");
+		bus.publish(PRICE, 1);
+		bus.deliverPendingEvents();
+		
+		assertTrue(removed.isEmpty());
+		assertEquals(Arrays.asList("first"), kept);
+	}
+	
+	public void testFailingHandlerDoesNotPreventDelivery() {
+		List <String> received = new ArrayList<>();
+		bus.subscribe(owner, ORDERS, order -> { throw new IllegalStateException(order); });
+		bus.subscribe(owner, ORDERS, received::add);
+		
+		bus.publish(ORDERS, "first");
+		bus.deliverPendingEvents();
+		
+		assertEquals(Arrays.asList("first"), received);
+	}
+	
+	public void testEventsPublishedDuringDeliveryWaitForTheNextBatch() {
+		List <String> received = new ArrayList<>();
+		bus.subscribe(owner, ORDERS, order -> {
+			received.add(order);
+			
+			if( order.equals("first") )
+				bus.publish(ORDERS, "second");
+		});
+		
+		bus.publish(ORDERS, "first");
+		bus.deliverPendingEvents();
+		
+		assertEquals(Arrays.asList("first"), received);
+		
+		bus.deliverPendingEvents();
+		
+		assertEquals(Arrays.asList("first", "second"), received);
+	}
+
+}
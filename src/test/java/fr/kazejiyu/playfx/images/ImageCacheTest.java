@@ -0,0 +1,149 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.images;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import junit.framework.TestCase;
+
+/**
+ * Tests how the {@link ImageCache} weights and evicts images. <br>
+ * <br>
+ * Images are not decoded from actual files: the URL {@code "<name>:<width>"} 
+ * stands for a square image whose side is {@code width}.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class ImageCacheTest extends TestCase {
+	
+	/** The number of times each URL has been decoded */
+	private final Map <String, AtomicInteger> decodings = new ConcurrentHashMap<>();
+	
+	private ImageCache cache(long budget) {
+		return new ImageCache(budget, this::decode);
+	}
+	
+	private Image decode(String url) {
+		decodings.computeIfAbsent(url, u -> new AtomicInteger()).incrementAndGet();
+		int width = Integer.parseInt(url.substring(url.indexOf(':') + 1));
+		return new WritableImage(width, width);
+	}
+	
+	private int decodings(String url) {
+		AtomicInteger count = decodings.get(url);
+		return count == null ? 0 : count.get();
+	}
+	
+	public void testImagesAreWeightedByTheirPixels() {
+		ImageCache cache = cache(1_000);
+		cache.get("a:10");
+		cache.get("b:5");
+		
+		assertEquals(2, cache.size());
+		assertEquals(10 * 10 * 4 + 5 * 5 * 4, cache.getUsedBytes());
+	}
+	
+	public void testCachedImagesAreNotDecodedAgain() {
+		ImageCache cache = cache(1_000);
+		Image first = cache.get("a:10");
+		Image second = cache.get("a:10");
+		
+		assertSame(first, second);
+		assertEquals(1, decodings("a:10"));
+	}
+	
+	public void testLeastRecentlyUsedImagesAreEvictedFirst() {
+		ImageCache cache = cache(3 * 400);
+		cache.get("a:10");
+		cache.get("b:10");
+		cache.get("c:10");
+		cache.get("a:10");
+		cache.get("d:10");
+		
+		assertEquals(3, cache.size());
+		assertEquals(3 * 400, cache.getUsedBytes());
+		
+		cache.get("a:10");
+		cache.get("b:10");
+		
+		assertEquals(1, decodings("a:10"));
+		assertEquals(2, decodings("b:10"));
+	}
+	
+	public void testImagesExceedingTheBudgetAreNotCached() {
+		ImageCache cache = cache(100);
+		cache.get("a:10");
+		cache.get("a:10");
+		
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getUsedBytes());
+		assertEquals(2, decodings("a:10"));
+	}
+	
+	public void testShrinkingTheBudgetEvictsImages() {
+		ImageCache cache = cache(1_000);
+		cache.get("a:10");
+		cache.get("b:10");
+		
+		cache.setBudget(400);
+		
+		assertEquals(1, cache.size());
+		assertEquals(400, cache.getUsedBytes());
+		
+		cache.get("b:10");
+		
+		assertEquals(1, decodings("b:10"));
+	}
+	
+	public void testZeroBudgetDisablesTheCache() {
+		ImageCache cache = cache(0);
+		cache.get("a:1");
+		
+		assertEquals(0, cache.size());
+	}
+	
+	public void testClearEvictsAllImages() {
+		ImageCache cache = cache(1_000);
+		cache.get("a:10");
+		cache.clear();
+		
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getUsedBytes());
+	}
+	
+	public void testPreloadedImagesAreCached() throws Exception {
+		ImageCache cache = cache(1_000);
+		Image preloaded = cache.preload("a:10").get();
+		
+		assertSame(preloaded, cache.get("a:10"));
+		assertSame(preloaded, cache.preload("a:10").get());
+		assertEquals(1, decodings("a:10"));
+	}
+	
+	public void testNegativeBudgetIsRejected() {
+		try {
+			cache(-1);
+			fail("Expected a negative budget to be rejected");
+			
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+}
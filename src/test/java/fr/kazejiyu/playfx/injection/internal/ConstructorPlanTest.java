@@ -0,0 +1,178 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.injection.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import fr.kazejiyu.playfx.configuration.Converters;
+import fr.kazejiyu.playfx.configuration.SerializedProperties;
+import fr.kazejiyu.playfx.injection.Inject;
+import junit.framework.TestCase;
+
+/**
+ * Tests how controllers are created through their {@link Inject @Inject} constructor.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class ConstructorPlanTest extends TestCase {
+	
+	private final Converters converters = Converters.defaults();
+	
+	private static SerializedProperties properties(String content) throws IOException {
+		SerializedProperties properties = new SerializedProperties(
+				new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), Converters.defaults());
+		properties.load();
+		return properties;
+	}
+	
+	public void testDefaultConstructorIsUsedWithoutInject() throws Exception {
+		ConstructorPlan plan = new ConstructorPlan(Default.class, converters);
+		
+		assertEquals(0, plan.parameters().size());
+		assertTrue(plan.newInstance(new Object[0]) instanceof Default);
+	}
+	
+	public void testParametersAreNamedByInject() {
+		ConstructorPlan plan = new ConstructorPlan(Injected.class, converters);
+		
+		assertEquals(2, plan.parameters().size());
+		assertEquals("service.name", plan.parameters().get(0).name());
+		assertEquals("service.timeout", plan.parameters().get(1).name());
+	}
+	
+	public void testInstanceIsCreatedWithTheArguments() throws Exception {
+		Injected injected = (Injected) new ConstructorPlan(Injected.class, converters).newInstance(new Object[] {"orders", Duration.ofSeconds(2)});
+		
+		assertEquals("orders", injected.name);
+		assertEquals(Duration.ofSeconds(2), injected.timeout);
+	}
+	
+	public void testMismatchingArgumentIsRejected() throws Exception {
+		ConstructorPlan plan = new ConstructorPlan(Injected.class, converters);
+		
+		try {
+			plan.newInstance(new Object[] {"orders", "2s"});
+			fail("Expected a String to be rejected as a Duration");
+			
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+	
+	public void testPrimitiveParametersAcceptTheirWrapperButNotNull() {
+		ParameterPoint count = new ConstructorPlan(Primitive.class, converters).parameters().get(0);
+		
+		assertTrue(count.accepts(3));
+		assertFalse(count.accepts(null));
+		assertFalse(count.accepts(3L));
+		assertEquals(0, count.defaultValue());
+	}
+	
+	public void testSeveralInjectedConstructorsAreRejected() throws Exception {
+		try {
+			new ConstructorPlan(Ambiguous.class, converters).newInstance(new Object[0]);
+			fail("Expected a class with two @Inject constructors to be rejected");
+			
+		} catch (NoSuchMethodException e) {
+			// expected
+		}
+	}
+	
+	public void testExceptionsOfTheConstructorAreWrapped() throws Exception {
+		try {
+			new ConstructorPlan(Failing.class, converters).newInstance(new Object[0]);
+			fail("Expected the exception of the constructor to be wrapped");
+			
+		} catch (InvocationTargetException e) {
+			assertEquals("boom", e.getCause().getMessage());
+		}
+	}
+	
+	public void testInjectorResolvesParametersFromPropertiesThenInstanciator() throws Exception {
+		Map <String, Object> values = new HashMap<>();
+		values.put("service.name", "from the instanciator");
+		values.put("service.timeout", "5s");
+		
+		Injector injector = new Injector(values::get, converters);
+		Injected injected = (Injected) injector.create(Injected.class, properties("service.timeout=PT1S"));
+		
+		assertEquals("from the instanciator", injected.name);
+		assertEquals(Duration.ofSeconds(1), injected.timeout);
+	}
+	
+	public void testInstanciatorValuesAreConverted() throws Exception {
+		Map <String, Object> values = new HashMap<>();
+		values.put("count", "12");
+		
+		Primitive primitive = (Primitive) new Injector(values::get, converters).create(Primitive.class, properties(""));
+		
+		assertEquals(12, primitive.count);
+	}
+	
+	
+	public static class Default {
+		// created by its default constructor
+	}
+	
+	public static class Injected {
+		
+		private final String name;
+		private final Duration timeout;
+		
+		@Inject
+		public Injected(@Inject(name = "service.name") String name, @Inject(name = "service.timeout") Duration timeout) {
+			this.name = name;
+			this.timeout = timeout;
+		}
+	}
+	
+	public static class Primitive {
+		
+		private final int count;
+		
+		@Inject
+		public Primitive(@Inject(name = "count") int count) {
+			this.count = count;
+		}
+	}
+	
+	public static class Ambiguous {
+		
+		@Inject
+		public Ambiguous() {
+			// first candidate
+		}
+		
+		@Inject
+		public Ambiguous(@Inject(name = "value") String value) {
+			// second candidate
+		}
+	}
+	
+	public static class Failing {
+		
+		@Inject
+		public Failing() {
+			throw new IllegalStateException("boom");
+		}
+	}
+
+}
@@ -0,0 +1,163 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.injection.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import fr.kazejiyu.playfx.configuration.Converters;
+import fr.kazejiyu.playfx.configuration.SerializedProperties;
+import fr.kazejiyu.playfx.injection.Inject;
+import junit.framework.TestCase;
+
+/**
+ * Tests how an {@link Injector} resolves the values of the fields, 
+ * sequentially or concurrently within a deadline.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class InjectorTest extends TestCase {
+	
+	private final Map <String, Object> values = new HashMap<>();
+	
+	private ExecutorService executor;
+	
+	@Override
+	protected void setUp() {
+		executor = Executors.newCachedThreadPool();
+	}
+	
+	@Override
+	protected void tearDown() {
+		executor.shutdownNow();
+	}
+	
+	private static SerializedProperties properties(String content) throws IOException {
+		SerializedProperties properties = new SerializedProperties(
+				new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), Converters.defaults());
+		properties.load();
+		return properties;
+	}
+	
+	private Injector injector() {
+		return new Injector(values::get);
+	}
+	
+	public void testFieldsAreInjectedFromPropertiesFirst() throws Exception {
+		values.put("count", 1);
+		values.put("label", "from the instanciator");
+		
+		Fields fields = (Fields) injector().create(Fields.class, properties("count=42"));
+		
+		assertEquals(42, fields.count);
+		assertEquals("from the instanciator", fields.label);
+	}
+	
+	public void testInvalidPropertyFallsBackToTheInstanciator() throws Exception {
+		values.put("count", 7);
+		
+		Fields fields = (Fields) injector().create(Fields.class, properties("count=many"));
+		
+		assertEquals(7, fields.count);
+	}
+	
+	public void testUnresolvedFieldsKeepTheirDefaultValue() throws Exception {
+		Fields fields = (Fields) injector().create(Fields.class, properties(""));
+		
+		assertEquals(-1, fields.count);
+		assertEquals("default", fields.label);
+	}
+	
+	public void testValuesAreResolvedInASingleBatch() throws Exception {
+		Injector injector = new Injector(slow(300, name -> name));
+		injector.setConcurrentResolution(executor, Duration.ofSeconds(10));
+		
+		long start = System.nanoTime();
+		Slow slow = (Slow) injector.create(Slow.class, properties(""));
+		long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+		
+		assertEquals("first", slow.first);
+		assertEquals("second", slow.second);
+		assertEquals("third", slow.third);
+		assertTrue("Values resolved one after another: " + elapsed + " ms", elapsed < 800);
+	}
+	
+	public void testValuesAfterTheDeadlineAreNotInjected() throws Exception {
+		Injector injector = new Injector(name -> "first".equals(name) ? name : slow(2_000, n -> n).apply(name));
+		injector.setConcurrentResolution(executor, Duration.ofMillis(100));
+		
+		long start = System.nanoTime();
+		Slow slow = (Slow) injector.create(Slow.class, properties(""));
+		long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+		
+		assertEquals("first", slow.first);
+		assertNull(slow.second);
+		assertNull(slow.third);
+		assertTrue("The deadline has not been enforced: " + elapsed + " ms", elapsed < 1_500);
+	}
+	
+	public void testDeadlineMustBePositive() {
+		try {
+			injector().setConcurrentResolution(executor, Duration.ZERO);
+			fail("Expected a null deadline to be rejected");
+			
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+	
+	/** @return an instanciator that waits {@code millis} before delegating to {@code values} */
+	private static Function <String, Object> slow(long millis, Function <String, Object> values) {
+		return name -> {
+			try {
+				Thread.sleep(millis);
+				
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return values.apply(name);
+		};
+	}
+	
+	
+	public static class Fields {
+		
+		@Inject
+		private int count = -1;
+		
+		@Inject
+		private String label = "default";
+	}
+	
+	public static class Slow {
+		
+		@Inject
+		private String first;
+		
+		@Inject
+		private String second;
+		
+		@Inject
+		private String third;
+	}
+
+}
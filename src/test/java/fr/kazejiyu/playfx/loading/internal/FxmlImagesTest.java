@@ -0,0 +1,118 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.loading.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests how {@link FxmlImages} finds the images declared in FXML files.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class FxmlImagesTest extends TestCase {
+	
+	private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+									   + "<?import javafx.scene.image.*?>";
+	
+	private URL location;
+	
+	@Override
+	protected void setUp() throws IOException {
+		location = new URL("file:/acts/orders/orders.fxml");
+	}
+	
+	private List <String> scan(String content, ClassLoader classLoader) {
+		return FxmlImages.scan(location, classLoader, new ByteArrayInputStream((HEADER + content).getBytes(StandardCharsets.UTF_8)));
+	}
+	
+	private List <String> scan(String content) {
+		return scan(content, getClass().getClassLoader());
+	}
+	
+	public void testAbsoluteUrlsAreKeptAsIs() {
+		List <String> urls = scan("<ImageView><image><Image url=\"https://example.org/logo.png\"/></image></ImageView>");
+		
+		assertEquals(Arrays.asList("https://example.org/logo.png"), urls);
+	}
+	
+	public void testRelativeUrlsAreResolvedAgainstTheFile() {
+		List <String> urls = scan("<ImageView><image><Image url=\"@icons/add.png\"/></image></ImageView>");
+		
+		assertEquals(Arrays.asList("file:/acts/orders/icons/add.png"), urls);
+	}
+	
+	public void testQualifiedElementsAreFound() {
+		List <String> urls = scan("<ImageView><image><javafx.scene.image.Image url=\"@add.png\"/></image></ImageView>");
+		
+		assertEquals(Arrays.asList("file:/acts/orders/add.png"), urls);
+	}
+	
+	public void testImagesAreFoundInDeclarationOrder() {
+		List <String> urls = scan("<VBox>"
+								+ "<ImageView><image><Image url=\"@first.png\"/></image></ImageView>"
+								+ "<ImageView><image><Image url=\"@second.png\"/></image></ImageView>"
+								+ "</VBox>");
+		
+		assertEquals(Arrays.asList("file:/acts/orders/first.png", "file:/acts/orders/second.png"), urls);
+	}
+	
+	public void testUrlsResolvedByTheLoaderAreIgnored() {
+		List <String> urls = scan("<VBox>"
+								+ "<Image url=\"$logo\"/>"
+								+ "<Image url=\"%logo\"/>"
+								+ "<Image url=\"#logo\"/>"
+								+ "<Image url=\"@@escaped.png\"/>"
+								+ "<Image url=\"\"/>"
+								+ "<Image/>"
+								+ "</VBox>");
+		
+		assertEquals(Collections.emptyList(), urls);
+	}
+	
+	public void testRootedUrlsAreResolvedAgainstTheClassLoader() throws IOException {
+		Path root = Files.createTempDirectory("playfx");
+		Path image = Files.createDirectories(root.resolve("icons")).resolve("add.png");
+		Files.write(image, new byte[0]);
+		
+		try( URLClassLoader classLoader = new URLClassLoader(new URL[] { root.toUri().toURL() }, null) ) {
+			List <String> urls = scan("<VBox><Image url=\"@/icons/add.png\"/><Image url=\"@/icons/missing.png\"/></VBox>", classLoader);
+			
+			assertEquals(Arrays.asList(image.toUri().toURL().toString()), urls);
+			
+		} finally {
+			Files.delete(image);
+			Files.delete(image.getParent());
+			Files.delete(root);
+		}
+	}
+	
+	public void testMalformedFilesHaveNoImage() {
+		List <String> urls = scan("<VBox><Image url=\"@add.png\"/>");
+		
+		assertEquals(Collections.emptyList(), urls);
+	}
+
+}
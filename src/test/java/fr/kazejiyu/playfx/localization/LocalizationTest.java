@@ -0,0 +1,193 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.localization;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+
+import javafx.beans.binding.StringBinding;
+import junit.framework.TestCase;
+
+/**
+ * Tests how a {@link Localization} switches its locale and caches its bundles. <br>
+ * <br>
+ * The bundles are defined by the nested classes of this test.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class LocalizationTest extends TestCase {
+	
+	private static final String TEXTS = Texts.class.getName();
+	private static final String PARTIAL = LocalizationTest.class.getName() + "$Partial";
+	
+	private final ClassLoader classLoader = getClass().getClassLoader();
+	
+	private Locale defaultLocale;
+	
+	private Localization localization;
+	
+	@Override
+	protected void setUp() {
+		// the bundle of the default locale is a fallback of the other ones
+		defaultLocale = Locale.getDefault();
+		Locale.setDefault(Locale.ENGLISH);
+		
+		localization = new Localization(TEXTS, Locale.ENGLISH, classLoader);
+	}
+	
+	@Override
+	protected void tearDown() {
+		Locale.setDefault(defaultLocale);
+	}
+	
+	public void testTextsComeFromTheBundleOfTheLocale() {
+		assertEquals("Orders", localization.get("orders.title"));
+		
+		localization.setLocale(Locale.FRENCH);
+		
+		assertEquals("Commandes", localization.get("orders.title"));
+		assertEquals(Locale.FRENCH, localization.getLocale());
+	}
+	
+	public void testMissingKeyIsItsOwnText() {
+		assertEquals("orders.unknown", localization.get("orders.unknown"));
+	}
+	
+	public void testBindingsFollowTheLocale() {
+		StringBinding title = localization.bind("orders.title");
+		
+		assertEquals("Orders", title.get());
+		
+		localization.setLocale(Locale.FRENCH);
+		
+		assertEquals("Commandes", title.get());
+	}
+	
+	public void testBindingsAreSharedByKey() {
+		assertSame(localization.bind("orders.title"), localization.bind("orders.title"));
+	}
+	
+	public void testFormattedBindingsFollowTheLocale() {
+		StringBinding count = localization.format("orders.count", 3);
+		
+		assertEquals("3 orders", count.get());
+		
+		localization.setLocale(Locale.FRENCH);
+		
+		assertEquals("3 commandes", count.get());
+	}
+	
+	public void testBundlesAreLoadedOncePerLocale() {
+		ResourceBundle english = localization.getBundle();
+		
+		localization.setLocale(Locale.FRENCH);
+		localization.setLocale(Locale.ENGLISH);
+		
+		assertSame(english, localization.getBundle());
+	}
+	
+	public void testLocaleAndBundleChangeBeforeListenersAreNotified() {
+		List <String> notified = new ArrayList<>();
+		
+		localization.localeProperty().addListener((observable, previous, locale) -> 
+			notified.add("locale " + locale + " " + localization.get("orders.title")));
+		
+		localization.bundleProperty().addListener((observable, previous, bundle) -> 
+			notified.add("bundle " + localization.getLocale() + " " + bundle.getString("orders.title")));
+		
+		localization.setLocale(Locale.FRENCH);
+		
+		assertEquals(Arrays.asList("locale fr Commandes", "bundle fr Commandes"), notified);
+	}
+	
+	public void testNothingChangesWhenTheBundleIsMissing() {
+		Localization partial = new Localization(PARTIAL, Locale.FRENCH, classLoader);
+		List <Object> notified = new ArrayList<>();
+		
+		partial.localeProperty().addListener((observable, previous, locale) -> notified.add(locale));
+		partial.bundleProperty().addListener((observable, previous, bundle) -> notified.add(bundle));
+		
+		try {
+			partial.setLocale(Locale.ITALIAN);
+			fail("Expected the missing bundle to be reported");
+			
+		} catch (MissingResourceException e) {
+			assertEquals(Locale.FRENCH, partial.getLocale());
+			assertEquals("Commandes", partial.get("orders.title"));
+			assertTrue(notified.isEmpty());
+		}
+	}
+	
+	public void testPreloadedBundlesAreUsedOnceTheLocaleChanges() throws InterruptedException, ExecutionException {
+		localization.preload(Locale.FRENCH, Locale.ENGLISH).get();
+		localization.setLocale(Locale.FRENCH);
+		
+		assertEquals("Commandes", localization.get("orders.title"));
+	}
+	
+	public void testPreloadingMissingBundlesFails() throws InterruptedException {
+		Localization partial = new Localization(PARTIAL, Locale.FRENCH, classLoader);
+		
+		try {
+			partial.preload(Locale.ITALIAN).get();
+			fail("Expected the missing bundle to be reported");
+			
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof MissingResourceException);
+		}
+	}
+	
+	/** The default bundle */
+	public static final class Texts extends ListResourceBundle {
+		
+		@Override
+		protected Object[][] getContents() {
+			return new Object[][] {
+				{ "orders.title", "Orders" },
+				{ "orders.count", "{0} orders" }
+			};
+		}
+	}
+	
+	/** The French bundle */
+	public static final class Texts_fr extends ListResourceBundle {
+		
+		@Override
+		protected Object[][] getContents() {
+			return new Object[][] {
+				{ "orders.title", "Commandes" },
+				{ "orders.count", "{0} commandes" }
+			};
+		}
+	}
+	
+	/** A French bundle without default bundle */
+	public static final class Partial_fr extends ListResourceBundle {
+		
+		@Override
+		protected Object[][] getContents() {
+			return new Object[][] {
+				{ "orders.title", "Commandes" }
+			};
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.monitoring;
+
+import java.time.Duration;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the percentiles computed over the last samples of a {@link RollingPercentiles}.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class RollingPercentilesTest extends TestCase {
+	
+	public void testNoSampleGivesNoPercentiles() {
+		RollingPercentiles percentiles = new RollingPercentiles(8);
+		
+		assertSame(Percentiles.NONE, percentiles.percentiles());
+	}
+	
+	public void testPercentilesAreTakenByRank() {
+		RollingPercentiles percentiles = new RollingPercentiles(100);
+		
+		for( long sample = 100 ; sample >= 1 ; --sample )
+			percentiles.record(sample);
+		
+		Percentiles computed = percentiles.percentiles();
+		
+		assertEquals(100, computed.getSamples());
+		assertEquals(Duration.ofNanos(50), computed.getP50());
+		assertEquals(Duration.ofNanos(95), computed.getP95());
+		assertEquals(Duration.ofNanos(99), computed.getP99());
+		assertEquals(Duration.ofNanos(100), computed.getMax());
+	}
+	
+	public void testSingleSampleIsEveryPercentile() {
+		RollingPercentiles percentiles = new RollingPercentiles(8);
+		percentiles.record(7);
+		
+		Percentiles computed = percentiles.percentiles();
+		
+		assertEquals(1, computed.getSamples());
+		assertEquals(Duration.ofNanos(7), computed.getP50());
+		assertEquals(Duration.ofNanos(7), computed.getMax());
+	}
+	
+	public void testOnlyTheLastSamplesAreKept() {
+		RollingPercentiles percentiles = new RollingPercentiles(4);
+		
+		for( long sample = 1 ; sample <= 10 ; ++sample )
+			percentiles.record(sample * 1_000);
+		
+		Percentiles computed = percentiles.percentiles();
+		
+		assertEquals(4, computed.getSamples());
+		assertEquals(Duration.ofNanos(8_000), computed.getP50());
+		assertEquals(Duration.ofNanos(10_000), computed.getMax());
+	}
+	
+	public void testComputingDoesNotDisturbRecording() {
+		RollingPercentiles percentiles = new RollingPercentiles(4);
+		percentiles.record(3);
+		percentiles.record(1);
+		percentiles.percentiles();
+		percentiles.record(2);
+		
+		Percentiles computed = percentiles.percentiles();
+		
+		assertEquals(3, computed.getSamples());
+		assertEquals(Duration.ofNanos(2), computed.getP50());
+		assertEquals(Duration.ofNanos(3), computed.getMax());
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.navigation;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests how a {@link NavigationGraph} counts transitions and is saved between sessions.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class NavigationGraphTest extends TestCase {
+	
+	private final NavigationGraph graph = new NavigationGraph();
+	
+	private Path directory;
+	private Path file;
+	
+	@Override
+	protected void setUp() throws IOException {
+		directory = Files.createTempDirectory("playfx");
+		file = directory.resolve("graphs").resolve("main.navigation");
+	}
+	
+	@Override
+	protected void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(file.getParent());
+		Files.deleteIfExists(directory);
+	}
+	
+	public void testMostFrequentTransitionsComeFirst() {
+		graph.followed("menu", "orders");
+		graph.followed("menu", "settings");
+		graph.followed("menu", "settings");
+		graph.followed("menu", "reports");
+		graph.followed("menu", "settings");
+		graph.followed("menu", "orders");
+		
+		assertEquals(Arrays.asList("settings", "orders", "reports"), graph.likelyNextActs("menu", 3));
+		assertEquals(Arrays.asList("settings", "orders"), graph.likelyNextActs("menu", 2));
+	}
+	
+	public void testShowingTheSameActIsNotATransition() {
+		graph.followed("menu", "menu");
+		
+		assertEquals(Collections.emptyList(), graph.likelyNextActs("menu", 2));
+	}
+	
+	public void testUnknownActHasNoLikelyNextAct() {
+		assertEquals(Collections.emptyList(), graph.likelyNextActs("unknown", 2));
+	}
+	
+	public void testOnlyFileLocationsAreKept() throws IOException {
+		URL file = new URL("file:/acts/orders.fxml");
+		
+		graph.located("orders", file);
+		graph.located("reports", new URL("jar:file:/plugins/reports.jar!/reports.fxml"));
+		
+		assertEquals(file, graph.locationOf("orders"));
+		assertNull(graph.locationOf("reports"));
+	}
+	
+	public void testLocationIsForgottenOnceItCannotBePrefetched() throws IOException {
+		graph.located("orders", new URL("file:/acts/orders.fxml"));
+		graph.located("orders", null);
+		
+		assertNull(graph.locationOf("orders"));
+	}
+	
+	public void testSavedGraphIsRestored() throws IOException {
+		URL location = new URL("file:/acts/orders.fxml");
+		graph.located("orders", location);
+		graph.followed("menu", "orders");
+		graph.followed("menu", "orders");
+		graph.followed("menu", "settings");
+		graph.save(file);
+		
+		NavigationGraph restored = new NavigationGraph();
+		restored.restore(file);
+		
+		assertEquals(location.toExternalForm(), restored.locationOf("orders").toExternalForm());
+		assertEquals(Arrays.asList("orders", "settings"), restored.likelyNextActs("menu", 2));
+	}
+	
+	public void testSavingReplacesThePreviousGraph() throws IOException {
+		graph.followed("menu", "orders");
+		graph.save(file);
+		graph.followed("menu", "settings");
+		graph.followed("menu", "settings");
+		graph.save(file);
+		
+		NavigationGraph restored = new NavigationGraph();
+		restored.restore(file);
+		
+		assertEquals(Arrays.asList("settings", "orders"), restored.likelyNextActs("menu", 2));
+		
+		try( Stream <Path> files = Files.list(file.getParent()) ) {
+			assertEquals("no temporary file should be left", 1, files.count());
+		}
+	}
+	
+	public void testOtherFilesAreRejected() throws IOException {
+		Files.createDirectories(file.getParent());
+		Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6 });
+		graph.followed("menu", "orders");
+		
+		try {
+			graph.restore(file);
+			fail("Expected a file that is not a navigation graph to be rejected");
+			
+		} catch (IOException e) {
+			assertEquals(Arrays.asList("orders"), graph.likelyNextActs("menu", 2));
+		}
+	}
+
+}
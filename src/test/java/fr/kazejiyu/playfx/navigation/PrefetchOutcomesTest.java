@@ -0,0 +1,118 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.navigation;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests how {@link PrefetchOutcomes} counts hits, misses and wasted prefetches.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class PrefetchOutcomesTest extends TestCase {
+	
+	private final PrefetchOutcomes outcomes = new PrefetchOutcomes();
+	
+	public void testPrefetchedActShownIsAHit() {
+		outcomes.requested("orders");
+		outcomes.loaded("orders", true);
+		outcomes.shown("orders");
+		
+		assertEquals(1, outcomes.hits());
+		assertEquals(0, outcomes.misses());
+		assertFalse(outcomes.isRequested("orders"));
+	}
+	
+	public void testActLoadedOnDemandIsAMiss() {
+		outcomes.loaded("orders", false);
+		outcomes.shown("orders");
+		
+		assertEquals(0, outcomes.hits());
+		assertEquals(1, outcomes.misses());
+	}
+	
+	public void testOvertakenPrefetchIsAMiss() {
+		outcomes.requested("orders");
+		outcomes.loaded("orders", false);
+		
+		assertFalse(outcomes.isRequested("orders"));
+		
+		outcomes.shown("orders");
+		
+		assertEquals(0, outcomes.hits());
+		assertEquals(1, outcomes.misses());
+	}
+	
+	public void testActPrefetchedByOthersIsNotAHit() {
+		outcomes.loaded("orders", true);
+		outcomes.shown("orders");
+		
+		assertEquals(0, outcomes.hits());
+		assertEquals(0, outcomes.misses());
+	}
+	
+	public void testActIsCountedOnlyTheFirstTimeItIsShown() {
+		outcomes.requested("orders");
+		outcomes.loaded("orders", true);
+		outcomes.shown("orders");
+		outcomes.shown("orders");
+		
+		assertEquals(1, outcomes.hits());
+		assertEquals(0, outcomes.misses());
+	}
+	
+	public void testPrefetchedActRemovedWithoutBeingShownIsWasted() {
+		outcomes.requested("orders");
+		outcomes.loaded("orders", true);
+		outcomes.removed("orders");
+		outcomes.shown("orders");
+		
+		assertEquals(1, outcomes.wasted());
+		assertEquals(0, outcomes.hits());
+	}
+	
+	public void testShownActIsNotWasted() {
+		outcomes.requested("orders");
+		outcomes.loaded("orders", true);
+		outcomes.shown("orders");
+		outcomes.removed("orders");
+		
+		assertEquals(0, outcomes.wasted());
+	}
+	
+	public void testCancelledPrefetchIsNoLongerRequested() {
+		outcomes.requested("orders");
+		outcomes.requested("settings");
+		outcomes.cancelled("orders");
+		
+		assertEquals(Arrays.asList("settings"), outcomes.requested());
+		
+		outcomes.loaded("orders", true);
+		outcomes.shown("orders");
+		
+		assertEquals(0, outcomes.hits());
+	}
+	
+	public void testRemovedActIsNoLongerRequested() {
+		outcomes.requested("orders");
+		outcomes.removed("orders");
+		
+		assertEquals(Collections.emptyList(), outcomes.requested());
+	}
+
+}
@@ -0,0 +1,178 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the round trips of {@link SnapshotStore}.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class SnapshotStoreTest extends TestCase {
+	
+	private Path directory;
+	
+	private SnapshotStore store;
+	
+	@Override
+	protected void setUp() throws IOException {
+		directory = Files.createTempDirectory("playfx-snapshots");
+		store = new SnapshotStore(directory.resolve("acts"));
+	}
+	
+	@Override
+	protected void tearDown() throws IOException {
+		try( DirectoryStream <Path> acts = Files.newDirectoryStream(directory) ) {
+			for( Path act : acts ) {
+				try( DirectoryStream <Path> snapshots = Files.newDirectoryStream(act) ) {
+					for( Path snapshot : snapshots )
+						Files.delete(snapshot);
+				}
+				Files.delete(act);
+			}
+		}
+		Files.delete(directory);
+	}
+	
+	public void testRestoreWithoutSnapshot() throws IOException {
+		Counter counter = new Counter(1);
+		
+		assertFalse(store.restore("counter", counter));
+		assertEquals(0, counter.value);
+	}
+	
+	public void testSaveThenRestore() throws IOException {
+		Counter saved = new Counter(1);
+		saved.value = 42;
+		saved.label = "orders/\u00e9t\u00e9";
+		store.save("counter", saved);
+		
+		Counter restored = new Counter(1);
+		
+		assertTrue(store.restore("counter", restored));
+		assertEquals(42, restored.value);
+		assertEquals("orders/\u00e9t\u00e9", restored.label);
+	}
+	
+	public void testSaveReplacesPreviousSnapshot() throws IOException {
+		Counter counter = new Counter(1);
+		counter.value = 1;
+		store.save("counter", counter);
+		counter.value = 2;
+		store.save("counter", counter);
+		
+		Counter restored = new Counter(1);
+		store.restore("counter", restored);
+		
+		assertEquals(2, restored.value);
+		assertEquals(1, snapshotCount());
+	}
+	
+	public void testSnapshotOfAnotherVersionIsRejected() throws IOException {
+		Counter saved = new Counter(1);
+		saved.value = 42;
+		store.save("counter", saved);
+		
+		Counter restored = new Counter(2);
+		
+		assertFalse(store.restore("counter", restored));
+		assertEquals(0, restored.value);
+		assertEquals(0, snapshotCount());
+	}
+	
+	public void testSnapshotOfAnotherClassIsRejected() throws IOException {
+		store.save("counter", new Counter(1));
+		
+		assertFalse(store.restore("counter", new OtherCounter(1)));
+		assertEquals(0, snapshotCount());
+	}
+	
+	public void testCorruptedSnapshotIsRejected() throws IOException {
+		store.save("counter", new Counter(1));
+		
+		Path snapshot;
+		
+		try( Stream <Path> snapshots = Files.list(directory.resolve("acts")) ) {
+			snapshot = snapshots.findFirst().get();
+		}
+		byte[] content = Files.readAllBytes(snapshot);
+		Files.write(snapshot, Arrays.copyOf(content, content.length - 2));
+		
+		assertFalse(store.restore("counter", new Counter(1)));
+		assertEquals(0, snapshotCount());
+	}
+	
+	public void testDelete() throws IOException {
+		store.save("counter", new Counter(1));
+		store.delete("counter");
+		
+		assertFalse(store.restore("counter", new Counter(1)));
+	}
+	
+	private long snapshotCount() throws IOException {
+		try( Stream <Path> snapshots = Files.list(directory.resolve("acts")) ) {
+			return snapshots.count();
+		}
+	}
+	
+	/** A persistent act made of a counter and a label */
+	private static class Counter implements PersistentAct {
+		
+		private final int version;
+		
+		private int value;
+		private String label = "";
+		
+		private Counter(int version) {
+			this.version = version;
+		}
+
+		@Override
+		public int getStateVersion() {
+			return version;
+		}
+
+		@Override
+		public void saveState(DataOutput out) throws IOException {
+			out.writeInt(value);
+			out.writeUTF(label);
+		}
+
+		@Override
+		public void restoreState(DataInput in) throws IOException {
+			value = in.readInt();
+			label = in.readUTF();
+		}
+	}
+	
+	/** Same state as {@link Counter}, but another class */
+	private static final class OtherCounter extends Counter {
+		
+		private OtherCounter(int version) {
+			super(version);
+		}
+	}
+
+}
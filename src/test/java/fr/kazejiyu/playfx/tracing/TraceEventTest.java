@@ -0,0 +1,140 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.tracing;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import fr.kazejiyu.playfx.tracing.TraceEvent.Kind;
+import junit.framework.TestCase;
+
+/**
+ * Tests how {@link TraceEvent}s are written into and read from navigation traces.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class TraceEventTest extends TestCase {
+	
+	private Path trace;
+	
+	@Override
+	protected void setUp() throws IOException {
+		trace = Files.createTempFile("playfx", ".trace");
+	}
+	
+	@Override
+	protected void tearDown() throws IOException {
+		Files.deleteIfExists(trace);
+	}
+	
+	private static TraceEvent roundTrip(TraceEvent event) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		event.writeTo(new DataOutputStream(bytes));
+		
+		return TraceEvent.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), TraceEvent.FORMAT_VERSION);
+	}
+	
+	public void testPrepareRoundTrip() throws IOException {
+		URL location = new URL("file:/acts/orders.fxml");
+		TraceEvent read = roundTrip(new TraceEvent(Kind.PREPARE, 1_234, "orders", location, Duration.ofMillis(42)));
+		
+		assertEquals(Kind.PREPARE, read.getKind());
+		assertEquals(Duration.ofNanos(1_234), read.getTimestamp());
+		assertEquals("orders", read.getName());
+		assertEquals(location.toExternalForm(), read.getLocation().toExternalForm());
+		assertEquals(Duration.ofMillis(42), read.getLoadTime());
+		assertFalse(read.isIsolated());
+	}
+	
+	public void testIsolatedPrepareKeepsItsClasspath() throws IOException {
+		List <URL> classpath = Arrays.asList(new URL("file:/plugins/reports.jar"), new URL("file:/plugins/classes/"));
+		TraceEvent read = roundTrip(new TraceEvent(Kind.PREPARE, 0, "reports", 
+				new URL("jar:file:/plugins/reports.jar!/reports.fxml"), Duration.ZERO, classpath));
+		
+		assertTrue(read.isIsolated());
+		assertEquals(2, read.getClasspath().size());
+		assertEquals(classpath.get(1).toExternalForm(), read.getClasspath().get(1).toExternalForm());
+	}
+	
+	public void testShowAndRemoveHaveNoLocation() throws IOException {
+		for( Kind kind : Arrays.asList(Kind.SHOW, Kind.REMOVE) ) {
+			TraceEvent read = roundTrip(new TraceEvent(kind, 5, "orders", null, Duration.ZERO));
+			
+			assertEquals(kind, read.getKind());
+			assertNull(read.getLocation());
+			assertEquals(Duration.ZERO, read.getLoadTime());
+		}
+	}
+	
+	public void testTraceIsReadInRecordingOrder() throws IOException {
+		try( DataOutputStream out = new DataOutputStream(Files.newOutputStream(trace)) ) {
+			out.writeInt(TraceEvent.MAGIC);
+			out.writeShort(TraceEvent.FORMAT_VERSION);
+			out.writeLong(System.currentTimeMillis());
+			
+			new TraceEvent(Kind.PREPARE, 1, "orders", new URL("file:/orders.fxml"), Duration.ofMillis(3)).writeTo(out);
+			new TraceEvent(Kind.SHOW, 2, "orders", null, Duration.ZERO).writeTo(out);
+			new TraceEvent(Kind.REMOVE, 3, "orders", null, Duration.ZERO).writeTo(out);
+		}
+		
+		List <TraceEvent> events = TraceReplayer.read(trace);
+		
+		assertEquals(3, events.size());
+		assertEquals(Kind.PREPARE, events.get(0).getKind());
+		assertEquals(Kind.SHOW, events.get(1).getKind());
+		assertEquals(Kind.REMOVE, events.get(2).getKind());
+	}
+	
+	public void testFirstVersionOfTracesCanStillBeRead() throws IOException {
+		try( DataOutputStream out = new DataOutputStream(Files.newOutputStream(trace)) ) {
+			out.writeInt(TraceEvent.MAGIC);
+			out.writeShort(1);
+			out.writeLong(System.currentTimeMillis());
+			
+			out.writeByte(Kind.PREPARE.ordinal());
+			out.writeLong(1);
+			out.writeUTF("orders");
+			out.writeUTF("file:/orders.fxml");
+			out.writeLong(Duration.ofMillis(3).toNanos());
+		}
+		
+		List <TraceEvent> events = TraceReplayer.read(trace);
+		
+		assertEquals(1, events.size());
+		assertFalse(events.get(0).isIsolated());
+	}
+	
+	public void testOtherFilesAreRejected() throws IOException {
+		Files.write(trace, new byte[] { 1, 2, 3, 4, 5, 6 });
+		
+		try {
+			TraceReplayer.read(trace);
+			fail("Expected a file that is not a trace to be rejected");
+			
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+}
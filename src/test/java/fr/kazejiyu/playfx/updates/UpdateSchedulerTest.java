@@ -0,0 +1,165 @@
+/*
+ * 		Copyright 2018 Emmanuel CHEBBI
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package fr.kazejiyu.playfx.updates;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests how the {@link UpdateScheduler} merges, drops and applies updates.
+ * 
+ * @author Emmanuel CHEBBI
+ */
+public class UpdateSchedulerTest extends TestCase {
+	
+	/** The number of times the scheduler asked for its updates to be applied */
+	private int requests;
+	
+	/** Its budget is large enough for the tests not to depend on the speed of the machine */
+	private final UpdateScheduler scheduler = new UpdateScheduler(() -> ++requests).setFrameBudget(Duration.ofSeconds(10));
+	
+	private final List <String> applied = new ArrayList<>();
+	
+	public void testLatestValueWinsByDefault() {
+		scheduler.submit("price", "1", applied::add);
+		scheduler.submit("price", "2", applied::add);
+		scheduler.submit("price", "3", applied::add);
+		scheduler.applyPendingUpdates();
+		
+		assertEquals(Arrays.asList("3"), applied);
+		assertEquals(1, requests);
+	}
+	
+	public void testPendingValuesAreMerged() {
+		scheduler.submit("log", "a", String::concat, applied::add);
+		scheduler.submit("log", "b", String::concat, applied::add);
+		scheduler.submit("log", "c", String::concat, applied::add);
+		scheduler.applyPendingUpdates();
+		
+		assertEquals(Arrays.asList("abc"), applied);
+	}
+	
+	public void testUpdatesAreAppliedInSubmissionOrder() {
+		scheduler.submit("first", "1", applied::add);
+		scheduler.submit("second", "2", applied::add);
+		scheduler.submit("first", "3", applied::add);
+		scheduler.applyPendingUpdates();
+		
+		assertEquals(Arrays.asList("3", "2"), applied);
+	}
+	
+	public void testKeyIsPendingAgainOnceApplied() {
+		scheduler.submit("price", "1", applied::add);
+		scheduler.applyPendingUpdates();
+		scheduler.submit("price", "2", applied::add);
+		scheduler.applyPendingUpdates();
+		
+		assertEquals(Arrays.asList("1", "2"), applied);
+		assertEquals(2, requests);
+	}
+	
+	public void testNewKeysAreDroppedOnceTheLimitIsReached() {
+		scheduler.setMaxPendingKeys(2);
+		
+		scheduler.submit("first", "1", applied::add);
+		scheduler.submit("second", "2", applied::add);
+		scheduler.submit("third", "3", applied::add);
+		scheduler.submit("first", "4", applied::add);
+		scheduler.applyPendingUpdates();
+		
+		assertEquals(Arrays.asList("4", "2"), applied);
+		assertEquals(1, scheduler.getMetrics().getDropped());
+	}
+	
+	public void testRemainingUpdatesWaitForTheNextPulseOnceTheBudgetIsExhausted() {
+		scheduler.setFrameBudget(Duration.ofNanos(1));
+		
+		scheduler.submit("first", "1", value -> { applied.add(value); sleep(); });
+		scheduler.submit("second", "2", value -> { applied.add(value); sleep(); });
+		scheduler.applyPendingUpdates();
+		
+		assertEquals(Arrays.asList("1"), applied);
+		assertEquals(1, scheduler.getMetrics().getBudgetOverruns());
+		assertEquals(1, scheduler.getMetrics().getQueueDepth());
+		
+		scheduler.applyPendingUpdates();
+		
+		assertEquals(Arrays.asList("1", "2"), applied);
+		assertEquals(1, scheduler.getMetrics().getBudgetOverruns());
+	}
+	
+	public void testMetricsCountEachOutcome() {
+		scheduler.setMaxPendingKeys(1);
+		
+		scheduler.submit("first", "1", applied::add);
+		scheduler.submit("first", "2", applied::add);
+		scheduler.submit("second", "3", applied::add);
+		
+		UpdateMetrics pending = scheduler.getMetrics();
+		
+		assertEquals(3, pending.getSubmitted());
+		assertEquals(1, pending.getMerged());
+		assertEquals(1, pending.getDropped());
+		assertEquals(0, pending.getApplied());
+		assertEquals(1, pending.getQueueDepth());
+		
+		scheduler.applyPendingUpdates();
+		UpdateMetrics done = scheduler.getMetrics();
+		
+		assertEquals(1, done.getApplied());
+		assertEquals(0, done.getQueueDepth());
+		assertEquals(1, done.getMaxQueueDepth());
+	}
+	
+	public void testFailingUpdateDoesNotPreventTheOthers() {
+		scheduler.submit("first", "1", value -> { throw new IllegalStateException(value); });
+		scheduler.submit("second", "2", applied::add);
+		scheduler.applyPendingUpdates();
+		
+		assertEquals(Arrays.asList("2"), applied);
+	}
+	
+	public void testNonPositiveSettingsAreRejected() {
+		try {
+			scheduler.setFrameBudget(Duration.ZERO);
+			fail("Expected a zero budget to be rejected");
+			
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			scheduler.setMaxPendingKeys(0);
+			fail("Expected no pending key to be rejected");
+			
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+	
+	/** Ensures the budget of the frame is exceeded */
+	private static void sleep() {
+		try {
+			Thread.sleep(1);
+			
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}